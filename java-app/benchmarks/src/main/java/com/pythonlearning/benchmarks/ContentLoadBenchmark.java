@@ -0,0 +1,143 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Module;
+import com.pythonlearning.model.Quiz;
+import com.pythonlearning.util.ContentLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of reading course content, once the JIT has warmed up.
+ *
+ * parseLesson reads and parses one lesson without the cache, ranked by JSON size so
+ * the largest lessons in the course are covered; parseQuiz does the same for quizzes.
+ * cachedLesson is a lesson cache hit, which is what navigation costs once a lesson
+ * has been prefetched. parseAllCourse reads every lesson and quiz uncached, as the
+ * search index and the solution batch do. Run with -prof gc (the default in
+ * BenchmarkRunner) for allocations per operation; ContentPackBenchmark covers the
+ * cold, first-load numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ContentLoadBenchmark {
+
+    @Param({"true", "false"})
+    public String pack;
+
+    // Rank of the lesson by size: 0 is the largest in the course
+    @Param({"0", "10"})
+    public int rank;
+
+    private int moduleId;
+    private int lessonId;
+    private int quizModuleId;
+
+    @Setup(Level.Trial)
+    public void load() {
+        System.setProperty("pythonlearning.content.pack", pack);
+
+        record Ranked(int moduleId, int lessonId, int size) {
+        }
+        List<Ranked> lessons = new ArrayList<>();
+        List<Ranked> quizzes = new ArrayList<>();
+        for (Module module : ContentLoader.getAllModules()) {
+            for (int lesson = 1; lesson <= module.getLessons(); lesson++) {
+                Lesson content = ContentLoader.readLessonUncached(module.getId(), lesson);
+                if (content != null) {
+                    lessons.add(new Ranked(module.getId(), lesson, size(content)));
+                }
+            }
+            Quiz quiz = ContentLoader.readQuizUncached(module.getId());
+            if (quiz != null) {
+                quizzes.add(new Ranked(module.getId(), 0, quiz.getQuestions().size()));
+            }
+        }
+        lessons.sort(Comparator.comparingInt(Ranked::size).reversed());
+        quizzes.sort(Comparator.comparingInt(Ranked::size).reversed());
+
+        Ranked lesson = lessons.get(Math.min(rank, lessons.size() - 1));
+        moduleId = lesson.moduleId();
+        lessonId = lesson.lessonId();
+        quizModuleId = quizzes.get(Math.min(rank, quizzes.size() - 1)).moduleId();
+
+        ContentLoader.loadLesson(moduleId, lessonId);
+        System.out.printf("%nLesson #%d: module %d lesson %d; quiz #%d: module %d%n",
+                rank, moduleId, lessonId, rank, quizModuleId);
+    }
+
+    /**
+     * Rough size of a lesson: the length of its authored sections
+     */
+    private static int size(Lesson lesson) {
+        int size = 0;
+        for (String section : new String[]{lesson.getConcept(), lesson.getSyntaxBreakdown(), lesson.getKeyTakeaways()}) {
+            size += section != null ? section.length() : 0;
+        }
+        if (lesson.getCodeExample() != null && lesson.getCodeExample().getCode() != null) {
+            size += lesson.getCodeExample().getCode().length();
+        }
+        return size;
+    }
+
+    @Benchmark
+    public void parseLesson(Blackhole bh) {
+        Lesson lesson = ContentLoader.readLessonUncached(moduleId, lessonId);
+        // Resolve the lazily parsed sections too, as displaying the lesson does
+        bh.consume(lesson.getConcept());
+        bh.consume(lesson.getCodeExample());
+        bh.consume(lesson.getSyntaxBreakdown());
+        bh.consume(lesson.getExercise());
+        bh.consume(lesson.getSolution());
+        bh.consume(lesson.getKeyTakeaways());
+    }
+
+    @Benchmark
+    public Quiz parseQuiz() {
+        return ContentLoader.readQuizUncached(quizModuleId);
+    }
+
+    @Benchmark
+    public Lesson cachedLesson() {
+        return ContentLoader.loadLesson(moduleId, lessonId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void parseAllCourse(Blackhole bh) {
+        for (Module module : ContentLoader.getAllModules()) {
+            for (int lesson = 1; lesson <= module.getLessons(); lesson++) {
+                Lesson content = ContentLoader.readLessonUncached(module.getId(), lesson);
+                if (content != null) {
+                    bh.consume(content.getConcept());
+                    bh.consume(content.getCodeExample());
+                    bh.consume(content.getSyntaxBreakdown());
+                    bh.consume(content.getExercise());
+                    bh.consume(content.getSolution());
+                    bh.consume(content.getKeyTakeaways());
+                }
+            }
+            bh.consume(ContentLoader.readQuizUncached(module.getId()));
+        }
+    }
+}
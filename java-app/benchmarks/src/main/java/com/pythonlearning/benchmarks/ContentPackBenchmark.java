@@ -0,0 +1,88 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Module;
+import com.pythonlearning.util.ContentLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start load of every lesson and quiz, and of the first lesson alone, from the
+ * binary content pack versus the per-file JSON resources.
+ *
+ * Each fork is a fresh JVM measured once, so the numbers include class loading,
+ * opening the pack and the first (interpreted) parse - what a learner sees when
+ * the application starts.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ContentPackBenchmark {
+
+    @Benchmark
+    @Fork(value = 20, jvmArgsAppend = {"-Dpythonlearning.content.pack=true",
+            "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+    public void coldLoadAllFromPack(Blackhole bh) {
+        loadAll(bh);
+    }
+
+    @Benchmark
+    @Fork(value = 20, jvmArgsAppend = {"-Dpythonlearning.content.pack=false",
+            "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+    public void coldLoadAllFromJson(Blackhole bh) {
+        loadAll(bh);
+    }
+
+    @Benchmark
+    @Fork(value = 20, jvmArgsAppend = {"-Dpythonlearning.content.pack=true",
+            "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+    public Lesson coldFirstLessonFromPack() {
+        return firstLesson();
+    }
+
+    @Benchmark
+    @Fork(value = 20, jvmArgsAppend = {"-Dpythonlearning.content.pack=false",
+            "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+    public Lesson coldFirstLessonFromJson() {
+        return firstLesson();
+    }
+
+    /**
+     * The lesson shown at startup, with the sections its first screen displays
+     */
+    static Lesson firstLesson() {
+        Lesson lesson = ContentLoader.loadLesson(1, 1);
+        lesson.getConcept();
+        lesson.getCodeExample();
+        return lesson;
+    }
+
+    /**
+     * Load every lesson and quiz and resolve all lazily parsed sections
+     */
+    static void loadAll(Blackhole bh) {
+        for (Module module : ContentLoader.getAllModules()) {
+            for (int lessonId = 1; lessonId <= module.getLessons(); lessonId++) {
+                Lesson lesson = ContentLoader.loadLesson(module.getId(), lessonId);
+                if (lesson != null) {
+                    bh.consume(lesson.getConcept());
+                    bh.consume(lesson.getCodeExample());
+                    bh.consume(lesson.getSyntaxBreakdown());
+                    bh.consume(lesson.getExercise());
+                    bh.consume(lesson.getSolution());
+                    bh.consume(lesson.getKeyTakeaways());
+                }
+            }
+            bh.consume(ContentLoader.loadQuiz(module.getId()));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.controller.ModuleListCell;
+import com.pythonlearning.database.PragmaProfile;
+import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.database.ProgressStore;
+import com.pythonlearning.model.Module;
+import com.pythonlearning.util.ContentLoader;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the module sidebar per refresh() (done after every completed lesson or quiz)
+ * and per scroll step, with ModuleListCell and with the former cell that built a new
+ * VBox, three Labels and three Fonts on every update ("legacy"). Compare
+ * gc.alloc.rate.norm from the GC profiler (on by default in BenchmarkRunner) for the
+ * bytes allocated per operation.
+ *
+ * Starts the JavaFX toolkit, so it needs a desktop session (JavaFX's text layout also
+ * needs the native pango libraries). The ListView sits in a scene that is never shown
+ * and is laid out explicitly on the FX thread; handing each operation to the FX thread
+ * costs the same for both cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ModuleListBenchmark {
+
+    @Param({"reusable", "legacy"})
+    public String cell;
+
+    private Path dbFile;
+    private ProgressDatabase database;
+    private ListView<Module> listView;
+    private int row;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbFile = Files.createTempFile("module-list-bench-", ".db");
+        database = new ProgressDatabase(dbFile, PragmaProfile.BALANCED);
+        ProgressStore progress = database.defaultLearner();
+
+        // Modules not started, in progress and complete, so every progress style is used
+        for (Module module : ContentLoader.getAllModules()) {
+            int completed = switch (module.getId() % 3) {
+                case 0 -> 0;
+                case 1 -> 1;
+                default -> module.getLessons();
+            };
+            for (int lesson = 1; lesson <= completed; lesson++) {
+                progress.markLessonComplete(module.getId(), lesson);
+            }
+        }
+
+        startToolkit();
+        onFxThread(() -> {
+            listView = new ListView<>(FXCollections.observableArrayList(ContentLoader.getAllModules()));
+            listView.setCellFactory(view -> "legacy".equals(cell)
+                    ? new LegacyModuleCell(progress)
+                    : new ModuleListCell(progress));
+
+            Scene scene = new Scene(listView, 280, 400);
+            scene.getStylesheets().add(ModuleListBenchmark.class.getResource("/css/application.css").toExternalForm());
+            listView.applyCss();
+            listView.layout();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    @Benchmark
+    public void refresh() throws Exception {
+        onFxThread(() -> {
+            listView.refresh();
+            listView.layout();
+        });
+    }
+
+    @Benchmark
+    public void scroll() throws Exception {
+        onFxThread(() -> {
+            listView.scrollTo(row++ % listView.getItems().size());
+            listView.layout();
+        });
+    }
+
+    private static void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await();
+        Platform.setImplicitExit(false);
+    }
+
+    private static void onFxThread(Runnable action) throws Exception {
+        FutureTask<Void> task = new FutureTask<>(action, null);
+        Platform.runLater(task);
+        task.get();
+    }
+
+    /**
+     * The sidebar cell as it was before ModuleListCell, for comparison
+     */
+    static final class LegacyModuleCell extends ListCell<Module> {
+        private final ProgressStore progressStore;
+
+        LegacyModuleCell(ProgressStore progressStore) {
+            this.progressStore = progressStore;
+        }
+
+        @Override
+        protected void updateItem(Module module, boolean empty) {
+            super.updateItem(module, empty);
+
+            if (empty || module == null) {
+                setText(null);
+                setGraphic(null);
+            } else {
+                VBox box = new VBox(5);
+                box.setPadding(new Insets(5));
+
+                Label titleLabel = new Label(module.getIcon() + " Module " + module.getId() + ": " + module.getTitle());
+                titleLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
+
+                Label subtitleLabel = new Label(module.getSubtitle());
+                subtitleLabel.setFont(Font.font("System", 12));
+                subtitleLabel.setStyle("-fx-text-fill: #666;");
+
+                int progress = progressStore.getModuleProgress(module.getId(), module.getLessons());
+                Label progressLabel = new Label(progress + "% Complete" +
+                        (progressStore.isQuizPassed(module.getId()) ? " · Quiz passed ✅" : ""));
+                progressLabel.setFont(Font.font("System", 10));
+
+                if (progress == 100) {
+                    progressLabel.setStyle("-fx-text-fill: green; -fx-font-weight: bold;");
+                } else if (progress > 0) {
+                    progressLabel.setStyle("-fx-text-fill: orange;");
+                }
+
+                box.getChildren().addAll(titleLabel, subtitleLabel, progressLabel);
+                setGraphic(box);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.database.PragmaProfile;
+import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.database.ProgressStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for a shared machine: hundreds of learner profiles in one progress database,
+ * read by 32 threads while 4 threads record progress for random learners.
+ *
+ * Half of the readers run pooledRead, which queries SQLite through the connection pool,
+ * so it measures the pool and the learner-clustered tables under concurrent writes. The
+ * other half run cachedRead, the completion checks the lesson view makes, which are
+ * served from each learner's in-memory bitmap and never touch the pool. Sample-time
+ * mode reports latency percentiles per operation. Run with -p learners=... -p
+ * poolSize=... to explore.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class MultiLearnerLoadBenchmark {
+
+    @State(Scope.Group)
+    public static class Classroom {
+        @Param({"100", "500"})
+        public int learners;
+
+        @Param({"4", "8"})
+        public int poolSize;
+
+        private Path dbFile;
+        private ProgressDatabase database;
+        private ProgressStore[] stores;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            dbFile = Files.createTempFile("progress-load-", ".db");
+            database = new ProgressDatabase(dbFile, PragmaProfile.BALANCED, 0, poolSize);
+
+            // Every learner is part way through the course
+            stores = new ProgressStore[learners];
+            SplittableRandom random = new SplittableRandom(42);
+            for (int i = 0; i < learners; i++) {
+                stores[i] = database.learner("learner-" + i);
+                for (int n = random.nextInt(40); n > 0; n--) {
+                    stores[i].markLessonComplete(random.nextInt(1, 15), random.nextInt(1, 7));
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            database.close();
+            Files.deleteIfExists(dbFile);
+            Files.deleteIfExists(Path.of(dbFile + "-wal"));
+            Files.deleteIfExists(Path.of(dbFile + "-shm"));
+        }
+
+        ProgressStore pick(SplittableRandom random) {
+            return stores[random.nextInt(stores.length)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * A learner's statistics row, read from SQLite on a pooled reader connection
+     */
+    @Benchmark
+    @Group("classroom")
+    @GroupThreads(16)
+    public Map<String, Object> pooledRead(Classroom classroom, Session session) {
+        return classroom.pick(session.random).getAllProgressData();
+    }
+
+    /**
+     * What the lesson view asks for a learner: one completion check and the module
+     * progress, both answered from the in-memory bitmap
+     */
+    @Benchmark
+    @Group("classroom")
+    @GroupThreads(16)
+    public int cachedRead(Classroom classroom, Session session) {
+        ProgressStore store = classroom.pick(session.random);
+        int module = session.random.nextInt(1, 15);
+        boolean complete = store.isLessonComplete(module, session.random.nextInt(1, 7));
+        return store.getModuleProgress(module, 6) + (complete ? 1 : 0);
+    }
+
+    @Benchmark
+    @Group("classroom")
+    @GroupThreads(4)
+    public void write(Classroom classroom, Session session) {
+        classroom.pick(session.random).markLessonComplete(session.random.nextInt(1, 15), session.random.nextInt(1, 7));
+    }
+}
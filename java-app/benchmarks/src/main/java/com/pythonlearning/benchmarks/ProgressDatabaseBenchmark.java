@@ -0,0 +1,112 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.database.PragmaProfile;
+import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.database.ProgressStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and read throughput of the progress database under each SQLite pragma profile.
+ * Each trial uses a fresh database file in the temp directory.
+ *
+ * With writeBehindMs 0 (the application's default) every markLessonComplete and
+ * recordQuizAttempt commits its upsert and stats update, and the AndFlush variants
+ * measure the same work. With write-behind the plain variants only queue the write
+ * (committing a batch every 32 events), while the AndFlush variants commit each write
+ * on its own; the interval is long enough that the background flusher never runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ProgressDatabaseBenchmark {
+
+    @Param({"SAFE", "BALANCED", "FAST"})
+    public PragmaProfile profile;
+
+    @Param({"0", "60000"})
+    public long writeBehindMs;
+
+    private Path dbFile;
+    private ProgressDatabase database;
+    private ProgressStore progress;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+        dbFile = Files.createTempFile("progress-bench-", ".db");
+        database = new ProgressDatabase(dbFile, profile, writeBehindMs, ProgressDatabase.DEFAULT_POOL_SIZE);
+        progress = database.defaultLearner();
+
+        // Half of the course completed, so reads hit both present and absent rows
+        for (int module = 1; module <= 14; module++) {
+            for (int lesson = 1; lesson <= 3; lesson++) {
+                progress.markLessonComplete(module, lesson);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        database.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    @Benchmark
+    public void markLessonComplete() {
+        int n = counter++;
+        progress.markLessonComplete(n % 14 + 1, n / 14 % 6 + 1);
+    }
+
+    @Benchmark
+    public void markLessonCompleteAndFlush() {
+        int n = counter++;
+        progress.markLessonComplete(n % 14 + 1, n / 14 % 6 + 1);
+        progress.flush();
+    }
+
+    @Benchmark
+    public void recordQuizAttempt() {
+        int n = counter++;
+        progress.recordQuizAttempt(n % 14 + 1, n % 11, 10);
+    }
+
+    @Benchmark
+    public void recordQuizAttemptAndFlush() {
+        int n = counter++;
+        progress.recordQuizAttempt(n % 14 + 1, n % 11, 10);
+        progress.flush();
+    }
+
+    @Benchmark
+    public int getOverallProgress() {
+        return progress.getOverallProgress(73);
+    }
+
+    @Benchmark
+    public boolean isLessonComplete() {
+        int n = counter++;
+        return progress.isLessonComplete(n % 14 + 1, n / 14 % 6 + 1);
+    }
+}
@@ -0,0 +1,142 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.database.PragmaProfile;
+import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.database.ProgressStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping the user_stats totals current as the progress tables grow.
+ *
+ * The tables are filled with synthetic rows (half of them completed). markLessonComplete
+ * and getAllProgressData should stay flat across sizes now that the totals are maintained
+ * by triggers; recountUserStats runs the full recount that used to follow every write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ProgressStatsBenchmark {
+
+    private static final int LESSONS_PER_MODULE = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path dbFile;
+    private ProgressDatabase database;
+    private ProgressStore progress;
+    private Connection connection;
+    private PreparedStatement recount;
+    private int nextLesson;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException, SQLException {
+        dbFile = Files.createTempFile("progress-stats-bench-", ".db");
+        database = new ProgressDatabase(dbFile, PragmaProfile.FAST);
+        progress = database.defaultLearner();
+
+        connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile);
+        PragmaProfile.FAST.apply(connection);
+        fill(connection, progress.getLearnerId(), rows);
+
+        recount = connection.prepareStatement("""
+            UPDATE user_stats SET
+                total_lessons_completed = (SELECT COUNT(*) FROM lesson_progress WHERE learner_id = ?1 AND completed = 1),
+                total_quizzes_completed = (SELECT COUNT(*) FROM quiz_progress WHERE learner_id = ?1 AND completed = 1)
+            WHERE learner_id = ?1
+        """);
+        recount.setInt(1, progress.getLearnerId());
+    }
+
+    /**
+     * Insert synthetic lesson rows in one transaction; modules above the course range
+     * keep them apart from the lessons the benchmarks complete
+     */
+    private static void fill(Connection connection, int learnerId, int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO lesson_progress (learner_id, module_id, lesson_id, completed, attempts) VALUES (?, ?, ?, ?, 1)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setInt(1, learnerId);
+                insert.setInt(2, 100 + i / LESSONS_PER_MODULE);
+                insert.setInt(3, i % LESSONS_PER_MODULE + 1);
+                insert.setInt(4, i % 2);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT total_lessons_completed FROM user_stats WHERE learner_id = ?")) {
+            select.setInt(1, learnerId);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != rows / 2) {
+                    throw new IllegalStateException("Triggers did not maintain the lesson total");
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException, SQLException {
+        recount.close();
+        connection.close();
+        database.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    /**
+     * Upsert into the course modules, plus the trigger increment on a lesson's first completion
+     */
+    @Benchmark
+    public void markLessonComplete() {
+        int n = nextLesson++;
+        progress.markLessonComplete(n % 14 + 1, n / 14 % 63 + 1);
+    }
+
+    @Benchmark
+    public Map<String, Object> getAllProgressData() {
+        return progress.getAllProgressData();
+    }
+
+    /**
+     * Baseline: the full recount previously run after every progress write
+     */
+    @Benchmark
+    public int recountUserStats() throws SQLException {
+        return recount.executeUpdate();
+    }
+}
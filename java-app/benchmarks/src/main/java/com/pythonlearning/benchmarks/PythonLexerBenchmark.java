@@ -0,0 +1,86 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.editor.PythonLexer;
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Module;
+import com.pythonlearning.util.ContentLoader;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Python highlighting cost on the largest code examples in the course.
+ *
+ * lexDocument styles a whole block, as the read-only code views do once per lesson;
+ * lexEditedLine re-lexes one line in the middle of it, which is what the exercise
+ * editor does per keystroke once the edit has settled. Divide the block size by
+ * lexDocument's time for throughput in characters per microsecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class PythonLexerBenchmark {
+
+    // Rank of the code example by size: 0 is the largest in the course
+    @Param({"0", "1", "2"})
+    public int rank;
+
+    private String code;
+    private String middleLine;
+    private int middleState;
+
+    @Setup(Level.Trial)
+    public void load() {
+        List<String> examples = new ArrayList<>();
+        for (Module module : ContentLoader.getAllModules()) {
+            for (int lessonId = 1; lessonId <= module.getLessons(); lessonId++) {
+                Lesson lesson = ContentLoader.loadLesson(module.getId(), lessonId);
+                if (lesson != null && lesson.getCodeExample() != null && lesson.getCodeExample().getCode() != null) {
+                    examples.add(lesson.getCodeExample().getCode());
+                }
+            }
+        }
+        examples.sort(Comparator.comparingInt(String::length).reversed());
+        code = examples.get(rank);
+
+        // Entry state of the middle line, as the editor's state cache would hold it
+        String[] lines = code.split("\n", -1);
+        int state = PythonLexer.NORMAL;
+        for (int i = 0; i < lines.length / 2; i++) {
+            state = PythonLexer.highlightLine(lines[i], state).exitState();
+        }
+        middleLine = lines[lines.length / 2];
+        middleState = state;
+
+        System.out.printf("%nCode example #%d: %d chars, %d lines%n", rank, code.length(), lines.length);
+    }
+
+    @Benchmark
+    public StyleSpans<Collection<String>> lexDocument() {
+        return PythonLexer.highlight(code);
+    }
+
+    @Benchmark
+    public PythonLexer.Line lexEditedLine() {
+        return PythonLexer.highlightLine(middleLine, middleState);
+    }
+}
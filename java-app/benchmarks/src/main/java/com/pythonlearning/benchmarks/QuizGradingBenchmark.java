@@ -0,0 +1,109 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.grading.AnswerKey;
+import com.pythonlearning.grading.GradeResult;
+import com.pythonlearning.grading.QuizGrader;
+import com.pythonlearning.grading.Submission;
+import com.pythonlearning.model.Quiz;
+import com.pythonlearning.util.ContentLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading throughput for a cohort of random answer sheets across all 14 module quizzes.
+ *
+ * gradeSequential and gradeParallel use the compiled answer keys; gradeBoxed grades the
+ * same answers through Quiz.Question.isCorrect for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class QuizGradingBenchmark {
+
+    private static final int SUBMISSIONS = 10_000;
+
+    @Param({"42"})
+    public long seed;
+
+    private QuizGrader grader;
+    private List<Submission> submissions;
+    private List<List<Object>> rawAnswers;
+    private Quiz[] quizzes;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        grader = new QuizGrader();
+        quizzes = new Quiz[15];
+        for (int module = 1; module <= 14; module++) {
+            quizzes[module] = ContentLoader.loadQuiz(module);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        submissions = new ArrayList<>(SUBMISSIONS);
+        rawAnswers = new ArrayList<>(SUBMISSIONS);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            int module = random.nextInt(1, 15);
+            AnswerKey key = grader.answerKey(module);
+
+            List<Object> raw = new ArrayList<>(key.questionCount());
+            for (int question = 0; question < key.questionCount(); question++) {
+                raw.add(random.nextInt(4));
+            }
+            rawAnswers.add(raw);
+            submissions.add(new Submission("learner-" + i % 500, module, key.encode(raw)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SUBMISSIONS)
+    public int gradeSequential() {
+        int passed = 0;
+        for (Submission submission : submissions) {
+            if (grader.grade(submission).passed()) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SUBMISSIONS)
+    public List<GradeResult> gradeParallel() {
+        return grader.gradeAll(submissions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SUBMISSIONS)
+    public int gradeBoxed() {
+        int correct = 0;
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            List<Quiz.Question> questions = quizzes[submissions.get(i).moduleId()].getQuestions();
+            List<Object> raw = rawAnswers.get(i);
+            for (int question = 0; question < questions.size(); question++) {
+                if (questions.get(question).isCorrect(raw.get(question))) {
+                    correct++;
+                }
+            }
+        }
+        return correct;
+    }
+}
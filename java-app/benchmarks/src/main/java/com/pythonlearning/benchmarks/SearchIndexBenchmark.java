@@ -0,0 +1,49 @@
+package com.pythonlearning.benchmarks;
+
+import com.pythonlearning.util.ContentLoader;
+import com.pythonlearning.util.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search box latency over the full course index.
+ *
+ * The queries cover the three shapes a search box produces: finished words, a word
+ * still being typed (prefix) and a quoted phrase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class SearchIndexBenchmark {
+
+    @Param({"list comprehension", "vari", "\"for loop\"", "print f"})
+    public String query;
+
+    private SearchIndex index;
+
+    @Setup(Level.Trial)
+    public void load() {
+        index = ContentLoader.getSearchIndex();
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> search() {
+        return index.search(query, 12);
+    }
+}
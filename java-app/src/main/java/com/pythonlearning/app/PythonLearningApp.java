@@ -1,15 +1,28 @@
 package com.pythonlearning.app;
 
+import com.pythonlearning.controller.MainWindowController;
 import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.metrics.Metrics;
+import com.pythonlearning.runner.ExerciseRunner;
+import com.pythonlearning.runner.PythonWorkerPool;
+import com.pythonlearning.runner.SolutionOutputBatch;
+import com.pythonlearning.util.ContentLoader;
+import com.pythonlearning.util.SectionRenderer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Main JavaFX Application for Python Learning Platform
  *
@@ -25,19 +38,87 @@ public class PythonLearningApp extends Application {
     private static final String APP_TITLE = "Python Learning Platform - Zero to Full-Stack";
     private static final int WINDOW_WIDTH = 1400;
     private static final int WINDOW_HEIGHT = 900;
+    private static final KeyCombination DIAGNOSTICS_SHORTCUT =
+            new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+
+    // Background startup phases, begun in main() so they overlap JavaFX toolkit startup
+    private static StartupOrchestrator startup;
+    private static CompletableFuture<ProgressDatabase> databaseReady;
+    private static CompletableFuture<PythonWorkerPool> workersReady;
+    private static long launchNanos;
+
+    private ProgressDatabase database;
+    private PythonWorkerPool pythonWorkers;
+
+    /**
+     * Start opening the progress database, reading the content indexes and starting the
+     * Python workers, each on its own thread. Nothing here touches JavaFX.
+     */
+    private static synchronized void beginStartup() {
+        if (startup != null) {
+            return;
+        }
+        startup = StartupOrchestrator.fromSystemProperties();
+
+        databaseReady = startup.inBackground("database", () -> {
+            ProgressDatabase db = ProgressDatabase.open();
+            db.defaultLearner();
+            return db;
+        });
+        workersReady = startup.inBackground("python workers", PythonWorkerPool::fromSystemProperties);
+
+        // The module list and the first lesson are what the window needs first; the search
+        // index reads every lesson and is left to the controller's own background load
+        startup.inBackground("content", () -> {
+            ContentLoader.getLessonIndex();
+            return ContentLoader.loadLesson(1, 1);
+        });
+
+        // Fill the solution output cache once both are up, so Check runs only the learner's code
+        databaseReady.thenAcceptBoth(workersReady, (db, workers) -> Thread.ofVirtual().name("solution-outputs")
+                .start(() -> SolutionOutputBatch.populate(workers, db.solutionOutputs())));
+    }
+
+    /**
+     * Runs on the launcher thread once the toolkit is up; the startup phases normally
+     * began in main() already
+     */
+    @Override
+    public void init() {
+        beginStartup();
+        if (launchNanos != 0) {
+            startup.record("toolkit", launchNanos);
+        }
+    }
 
     @Override
     public void start(Stage primaryStage) {
         try {
             logger.info("Starting Python Learning Platform...");
 
+            // The controller needs the database; wait only if it is still opening
+            database = startup.await("database", databaseReady);
+            pythonWorkers = startup.await("python workers", workersReady);
+            logger.info("Database initialized");
+
             // Load main window FXML
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainWindow.fxml"));
+            loader.setControllerFactory(type -> new MainWindowController(database.defaultLearner(),
+                    new ExerciseRunner(pythonWorkers, database.solutionOutputs())));
+            long fxmlStart = System.nanoTime();
             Parent root = loader.load();
+            startup.record("fxml", fxmlStart);
+            MainWindowController controller = loader.getController();
 
             // Create scene with stylesheet
-            Scene scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
+            Scene scene = startup.timed("scene", () -> {
+                Scene main = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
+                main.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
+                return main;
+            });
+
+            // Diagnostics panel
+            scene.getAccelerators().put(DIAGNOSTICS_SHORTCUT, controller::showDiagnostics);
 
             // Configure primary stage
             primaryStage.setTitle(APP_TITLE);
@@ -66,6 +147,19 @@ public class PythonLearningApp extends Application {
 
             // Show the window
             primaryStage.show();
+            startup.windowShown();
+
+            // Log the timeline once the first lesson is on screen, then expose the metrics
+            // over JMX (starting the MBean server would only compete with startup before)
+            controller.setOnFirstLessonRendered(() -> {
+                startup.record("first lesson", startup.windowShownNanos());
+                startup.logTimeline();
+                Thread.ofVirtual().name("metrics-jmx").start(Metrics::registerMBeans);
+            });
+
+            // WebKit starts with the first WebView; do that right after the first frame
+            // rather than in the middle of displaying the first lesson
+            Platform.runLater(() -> startup.timed("webkit warm-up", controller::prewarmWebViews));
 
             logger.info("Application started successfully");
 
@@ -86,8 +180,22 @@ public class PythonLearningApp extends Application {
      */
     private void shutdown() {
         try {
-            // Close database connection
-            ProgressDatabase.getInstance().close();
+            // Stop content prefetching and report cache effectiveness
+            ContentLoader.shutdown();
+            logger.info("{}", ContentLoader.getLessonCacheStats());
+            logger.info("{}", ContentLoader.getQuizCacheStats());
+            logger.info("{}", SectionRenderer.getCacheStats());
+            logger.info("{}", Metrics.report());
+
+            if (pythonWorkers != null) {
+                pythonWorkers.close();
+            }
+
+            // Commit queued progress, then close database connections
+            if (database != null) {
+                database.flush();
+                database.close();
+            }
             logger.info("Resources cleaned up successfully");
         } catch (Exception e) {
             logger.error("Error during shutdown: {}", e.getMessage(), e);
@@ -112,21 +220,16 @@ public class PythonLearningApp extends Application {
      * Application entry point
      */
     public static void main(String[] args) {
+        beginStartup();
+
         logger.info("==========================================");
         logger.info("Python Learning Platform - Desktop Edition");
         logger.info("From Zero to Full-Stack Developer");
         logger.info("Built with JavaFX 21 LTS | Java 21 LTS");
         logger.info("==========================================");
 
-        // Initialize database on startup
-        try {
-            ProgressDatabase.getInstance();
-            logger.info("Database initialized");
-        } catch (Exception e) {
-            logger.error("Failed to initialize database: {}", e.getMessage(), e);
-        }
-
         // Launch JavaFX application
+        launchNanos = System.nanoTime();
         launch(args);
     }
 }
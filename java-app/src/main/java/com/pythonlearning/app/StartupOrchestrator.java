@@ -0,0 +1,143 @@
+package com.pythonlearning.app;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent parts of startup in parallel and records when each one ran.
+ *
+ * Background phases start on virtual threads as soon as main() runs, so opening the
+ * database, reading the content indexes and starting Python overlap the JavaFX toolkit
+ * startup and FXML inflation instead of preceding them. The FX thread only waits for a
+ * phase when it actually needs the result, and such waits show up in the timeline.
+ *
+ * The timeline (milliseconds since main) is logged once the first lesson is on screen,
+ * with a warning when the window appeared later than the budget
+ * (-Dpythonlearning.startup.budgetMs, default {@value #DEFAULT_BUDGET_MS}).
+ */
+final class StartupOrchestrator {
+    private static final Logger logger = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    static final long DEFAULT_BUDGET_MS = 300;
+
+    private final long originNanos = System.nanoTime();
+    private final long jvmMillisBeforeOrigin = ManagementFactory.getRuntimeMXBean().getUptime();
+    private final long budgetMillis;
+    private final List<Phase> phases = new ArrayList<>();
+    private long windowShownNanos;
+    private boolean logged;
+
+    private record Phase(String name, String thread, long startNanos, long endNanos) {
+    }
+
+    StartupOrchestrator(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+    }
+
+    static StartupOrchestrator fromSystemProperties() {
+        return new StartupOrchestrator(Long.getLong("pythonlearning.startup.budgetMs", DEFAULT_BUDGET_MS));
+    }
+
+    /**
+     * Start a phase on its own virtual thread
+     */
+    <T> CompletableFuture<T> inBackground(String name, Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Thread.ofVirtual().name("startup-" + name).start(() -> {
+            try {
+                result.complete(timed(name, work));
+            } catch (Throwable e) {
+                logger.error("Startup phase {} failed: {}", name, e.getMessage(), e);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run a phase on the calling thread
+     */
+    <T> T timed(String name, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    void timed(String name, Runnable work) {
+        timed(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Get the result of a background phase, recording the wait if it was not done yet
+     */
+    <T> T await(String name, CompletableFuture<T> phase) {
+        if (phase.isDone()) {
+            return phase.join();
+        }
+        return timed("wait for " + name, phase::join);
+    }
+
+    /**
+     * Record a phase that started at the given time and ends now
+     */
+    synchronized void record(String name, long startNanos) {
+        phases.add(new Phase(name, Thread.currentThread().getName(), startNanos, System.nanoTime()));
+    }
+
+    /**
+     * Record that the main window is visible; this is what the budget applies to
+     */
+    synchronized void windowShown() {
+        windowShownNanos = System.nanoTime();
+        phases.add(new Phase("window shown", Thread.currentThread().getName(), windowShownNanos, windowShownNanos));
+    }
+
+    long windowShownNanos() {
+        return windowShownNanos;
+    }
+
+    /**
+     * Log the timeline, once
+     */
+    synchronized void logTimeline() {
+        if (logged) {
+            return;
+        }
+        logged = true;
+
+        StringBuilder timeline = new StringBuilder();
+        timeline.append("Startup timeline (ms since main; the JVM started ")
+                .append(jvmMillisBeforeOrigin).append(" ms earlier):");
+        phases.stream()
+                .sorted(Comparator.comparingLong(Phase::startNanos))
+                .forEach(phase -> {
+                    long start = millis(phase.startNanos());
+                    long end = millis(phase.endNanos());
+                    timeline.append(String.format("%n  %5d %s  %-24s %s", start,
+                            end == start ? "       " : String.format(".. %4d", end), phase.name(), phase.thread()));
+                });
+        logger.info("{}", timeline);
+
+        long shown = millis(windowShownNanos);
+        if (windowShownNanos != 0 && shown > budgetMillis) {
+            logger.warn("Main window shown after {} ms, over the {} ms startup budget", shown, budgetMillis);
+        }
+    }
+
+    private long millis(long nanos) {
+        return (nanos - originNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.metrics.Metrics;
+import com.pythonlearning.util.ContentLoader;
+import com.pythonlearning.util.SectionRenderer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Non-modal window with the live metrics: latency percentiles, counters, content cache
+ * statistics and heap use, refreshed every second while it is open. "Copy" puts the
+ * text on the clipboard, so a slow lab machine can be reported without a debugger or
+ * a JMX connection.
+ *
+ * Opened with Ctrl+Shift+D (Cmd+Shift+D on macOS). FX thread only.
+ */
+final class DiagnosticsPanel {
+
+    private static final Duration REFRESH = Duration.seconds(1);
+
+    private static DiagnosticsPanel instance;
+
+    private final Stage stage = new Stage();
+    private final TextArea text = new TextArea();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH, event -> update()));
+
+    private DiagnosticsPanel(Window owner) {
+        text.setEditable(false);
+        text.getStyleClass().add("diagnostics-text");
+        VBox.setVgrow(text, Priority.ALWAYS);
+
+        Button copy = new Button("Copy");
+        copy.setOnAction(event -> {
+            ClipboardContent content = new ClipboardContent();
+            content.putString(text.getText());
+            Clipboard.getSystemClipboard().setContent(content);
+        });
+        Label hint = new Label("Also available over JMX (com.pythonlearning) and as JFR events");
+        hint.getStyleClass().add("diagnostics-hint");
+        HBox bar = new HBox(10, hint, copy);
+        bar.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox root = new VBox(10, text, bar);
+        root.setPadding(new Insets(10));
+
+        Scene scene = new Scene(root, 860, 480);
+        scene.getStylesheets().addAll(owner.getScene().getStylesheets());
+        stage.setScene(scene);
+        stage.setTitle("Diagnostics");
+        stage.initOwner(owner);
+
+        refresh.setCycleCount(Timeline.INDEFINITE);
+        stage.setOnShown(event -> refresh.play());
+        stage.setOnHidden(event -> refresh.stop());
+    }
+
+    /**
+     * Show the panel, creating it on first use
+     */
+    static void show(Window owner) {
+        if (instance == null) {
+            instance = new DiagnosticsPanel(owner);
+        }
+        instance.update();
+        instance.stage.show();
+        instance.stage.toFront();
+    }
+
+    private void update() {
+        Runtime runtime = Runtime.getRuntime();
+        String report = Metrics.report() +
+                "\nCaches:" +
+                "\n  " + ContentLoader.getLessonCacheStats() +
+                "\n  " + ContentLoader.getQuizCacheStats() +
+                "\n  " + SectionRenderer.getCacheStats() +
+                String.format("%nJVM:%n  heap used %d MB of %d MB (max %d MB), up %d s",
+                        (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024),
+                        runtime.totalMemory() / (1024 * 1024), runtime.maxMemory() / (1024 * 1024),
+                        ManagementFactory.getRuntimeMXBean().getUptime() / 1000);
+
+        double scroll = text.getScrollTop();
+        text.setText(report);
+        text.setScrollTop(scroll);
+    }
+}
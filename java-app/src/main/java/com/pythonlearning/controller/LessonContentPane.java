@@ -0,0 +1,453 @@
+package com.pythonlearning.controller;
+
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Separator;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.web.WebEngine;
+import javafx.scene.web.WebView;
+import com.pythonlearning.editor.PythonHighlighter;
+import com.pythonlearning.model.Lesson;
+import org.fxmisc.flowless.Cell;
+import org.fxmisc.flowless.VirtualFlow;
+import org.fxmisc.flowless.VirtualizedScrollPane;
+import org.fxmisc.richtext.CodeArea;
+import org.fxmisc.richtext.LineNumberFactory;
+
+import java.util.List;
+
+/**
+ * Virtualized list of lesson sections: only the sections in (or next to) the viewport
+ * have nodes, and those nodes are recycled.
+ *
+ * Every cell can show any kind of {@link LessonSection}. It keeps at most one view per
+ * kind (header, HTML, code example, exercise) and rebinds the matching view when it is
+ * given a new section, so scrolling and moving between lessons reuse the same WebViews,
+ * CodeAreas and exercise editors instead of building new ones. Only a long lesson's
+ * first screen is laid out when it is displayed; the rest is built as it scrolls into
+ * view.
+ *
+ * FX thread only.
+ */
+final class LessonContentPane {
+
+    /**
+     * What the sections' buttons do, and render tracking for loaded WebViews
+     */
+    interface Actions {
+        void runExample(LessonSection.Code section);
+
+        void runExercise(LessonSection.Exercise section);
+
+        void checkExercise(LessonSection.Exercise section);
+
+        void showHint(LessonSection.Exercise section);
+
+        void showSolution(LessonSection.Exercise section);
+
+        /**
+         * A WebView started (or already finished) loading a section's document
+         */
+        void webViewShown(WebEngine engine);
+    }
+
+    private final ObservableList<LessonSection> sections = FXCollections.observableArrayList();
+    private final VirtualFlow<LessonSection, SectionCell> flow;
+    private final VirtualizedScrollPane<VirtualFlow<LessonSection, SectionCell>> scrollPane;
+    private final WebViewPool webViewPool;
+    private final Actions actions;
+
+    LessonContentPane(WebViewPool webViewPool, Actions actions) {
+        this.webViewPool = webViewPool;
+        this.actions = actions;
+        this.flow = VirtualFlow.createVertical(sections, SectionCell::new);
+        this.scrollPane = new VirtualizedScrollPane<>(flow);
+        scrollPane.getStyleClass().add("content-scroll");
+    }
+
+    Node getNode() {
+        return scrollPane;
+    }
+
+    /**
+     * Replace the content and scroll back to the top. Cells showing the old sections go
+     * back to the flow's pool and are reused for the new ones.
+     */
+    void show(List<? extends LessonSection> content) {
+        sections.setAll(content);
+        if (!sections.isEmpty()) {
+            flow.showAsFirst(0);
+        }
+    }
+
+    /**
+     * Replace the content but keep the scroll position, e.g. when the lesson on screen
+     * was edited and re-rendered
+     */
+    void replace(List<? extends LessonSection> content) {
+        int first = flow.getFirstVisibleIndex();
+        double offset = first >= 0 ? flow.getCell(first).getNode().getLayoutY() : 0;
+        sections.setAll(content);
+        if (first >= 0 && first < sections.size()) {
+            flow.showAtOffset(first, offset);
+        } else if (!sections.isEmpty()) {
+            flow.showAsFirst(0);
+        }
+    }
+
+    /**
+     * A reusable cell; its views are created the first time it shows a section of their kind
+     */
+    private final class SectionCell implements Cell<LessonSection, StackPane> {
+        private final StackPane root = new StackPane();
+        private HeaderView header;
+        private InfoView info;
+        private HtmlView html;
+        private CodeView code;
+        private ExerciseView exercise;
+        private SectionView current;
+
+        SectionCell(LessonSection section) {
+            root.setAlignment(Pos.TOP_LEFT);
+            root.setPadding(new Insets(5, 10, 10, 10));
+            // Cells are as wide as the widest preferred width; 0 makes them fit the viewport
+            root.setPrefWidth(0);
+            updateItem(section);
+        }
+
+        @Override
+        public StackPane getNode() {
+            return root;
+        }
+
+        @Override
+        public boolean isReusable() {
+            return true;
+        }
+
+        @Override
+        public void updateItem(LessonSection section) {
+            reset();
+            current = switch (section) {
+                case LessonSection.Header s -> (header != null ? header : (header = new HeaderView())).show(s);
+                case LessonSection.Info s -> (info != null ? info : (info = new InfoView())).show(s);
+                case LessonSection.Html s -> (html != null ? html : (html = new HtmlView())).show(s);
+                case LessonSection.Code s -> (code != null ? code : (code = new CodeView())).show(s);
+                case LessonSection.Exercise s -> (exercise != null ? exercise : (exercise = new ExerciseView())).show(s);
+                case LessonSection.Prebuilt s -> null;
+            };
+            root.getChildren().setAll(current != null ? current.node() : ((LessonSection.Prebuilt) section).node());
+        }
+
+        @Override
+        public void reset() {
+            if (current != null) {
+                current.unbind();
+                current = null;
+            }
+            root.getChildren().clear();
+        }
+
+        @Override
+        public void dispose() {
+            reset();
+            if (html != null) {
+                html.dispose();
+            }
+            if (exercise != null) {
+                exercise.dispose();
+            }
+        }
+    }
+
+    /**
+     * Nodes for one kind of section, rebound to each section of that kind a cell shows
+     */
+    private abstract static class SectionView {
+        abstract Node node();
+
+        void unbind() {
+        }
+    }
+
+    private static final class HeaderView extends SectionView {
+        private final Label title = new Label();
+        private final Label badge = new Label();
+        private final HBox box = new HBox(10, title, badge);
+
+        HeaderView() {
+            box.setAlignment(Pos.CENTER_LEFT);
+            box.setPadding(new Insets(20, 0, 10, 0));
+            title.setFont(Font.font("System", FontWeight.BOLD, 18));
+            badge.setStyle("-fx-background-color: #3b82f6; -fx-text-fill: white; " +
+                    "-fx-padding: 3 8 3 8; -fx-background-radius: 3; -fx-font-size: 10px;");
+        }
+
+        HeaderView show(LessonSection.Header section) {
+            title.setText(section.title());
+            badge.setText(section.badge());
+            badge.setVisible(section.badge() != null);
+            badge.setManaged(section.badge() != null);
+            return this;
+        }
+
+        @Override
+        Node node() {
+            return box;
+        }
+    }
+
+    private static final class InfoView extends SectionView {
+        private final Label text = new Label();
+        private final Separator separator = new Separator();
+        private final VBox box = new VBox(15, text, separator);
+
+        InfoView() {
+            text.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+        }
+
+        InfoView show(LessonSection.Info section) {
+            text.setText(section.text());
+            separator.setVisible(section.separator());
+            separator.setManaged(section.separator());
+            return this;
+        }
+
+        @Override
+        Node node() {
+            return box;
+        }
+    }
+
+    private final class HtmlView extends SectionView {
+        private final WebView webView = webViewPool.acquire();
+
+        // Document currently loaded, so scrolling back to the same section does not reload it
+        private String loaded;
+
+        HtmlView() {
+            webView.setPrefHeight(200);
+            webView.setMaxHeight(Double.MAX_VALUE);
+        }
+
+        HtmlView show(LessonSection.Html section) {
+            if (!section.html().equals(loaded)) {
+                webView.getEngine().loadContent(section.html());
+                loaded = section.html();
+            }
+            actions.webViewShown(webView.getEngine());
+            return this;
+        }
+
+        void dispose() {
+            webViewPool.release(webView);
+        }
+
+        @Override
+        Node node() {
+            return webView;
+        }
+    }
+
+    private final class CodeView extends SectionView {
+        private final CodeArea codeArea = new CodeArea();
+        private final Label outputLabel = new Label("Output:");
+        private final TextArea outputArea = new TextArea();
+        private final Button runBtn = new Button("▶ Run Example");
+        private final RunOutputView runOutput = new RunOutputView(100);
+        private final VBox box = new VBox(5, codeArea, outputLabel, outputArea, runBtn,
+                runOutput.status, runOutput.output);
+        private LessonSection.Code section;
+
+        CodeView() {
+            codeArea.setParagraphGraphicFactory(LineNumberFactory.get(codeArea));
+            codeArea.setEditable(false);
+            codeArea.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 13px;");
+            codeArea.setPrefHeight(300);
+
+            outputLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: white;");
+            outputArea.setEditable(false);
+            outputArea.setPrefHeight(100);
+            outputArea.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 12px;");
+
+            box.getStyleClass().add("code-box");
+            box.setPadding(new Insets(10));
+            box.setStyle("-fx-background-color: #2b2b2b; -fx-background-radius: 5;");
+
+            runBtn.setOnAction(e -> actions.runExample(section));
+        }
+
+        CodeView show(LessonSection.Code section) {
+            this.section = section;
+            Lesson.CodeExample example = section.example();
+
+            codeArea.replaceText(example.getCode());
+            if (section.styles() != null) {
+                codeArea.setStyleSpans(0, section.styles());
+            }
+            codeArea.getUndoManager().forgetHistory();
+
+            String output = example.getOutput();
+            boolean hasOutput = output != null && !output.isEmpty();
+            outputArea.setText(hasOutput ? output : "");
+            for (Node node : List.of(outputLabel, outputArea)) {
+                node.setVisible(hasOutput);
+                node.setManaged(hasOutput);
+            }
+
+            runOutput.bind(section.run());
+            runBtn.disableProperty().bind(section.run().running);
+            return this;
+        }
+
+        @Override
+        void unbind() {
+            runOutput.unbind();
+            runBtn.disableProperty().unbind();
+            section = null;
+        }
+
+        @Override
+        Node node() {
+            return box;
+        }
+    }
+
+    private final class ExerciseView extends SectionView {
+        private final CodeArea editor = new CodeArea();
+        private final PythonHighlighter highlighter;
+        private final TextArea inputArea = new TextArea();
+        private final Button runBtn = new Button("▶ Run");
+        private final Button checkBtn = new Button("✔ Check");
+        private final Button showHintBtn = new Button("💡 Show Hint");
+        private final Button showSolutionBtn = new Button("✅ Show Solution");
+        private final RunOutputView runOutput = new RunOutputView(150);
+        private final VBox box;
+        private LessonSection.Exercise section;
+
+        ExerciseView() {
+            editor.setParagraphGraphicFactory(LineNumberFactory.get(editor));
+            editor.setPrefHeight(300);
+            highlighter = PythonHighlighter.attach(editor);
+
+            // Keep the draft current, so the code survives this view being recycled
+            editor.textProperty().addListener((observable, oldText, newText) -> {
+                if (section != null) {
+                    section.draft().code.set(newText);
+                }
+            });
+
+            // Text the program's input() calls read, one line each
+            inputArea.setPromptText("Program input: one line per input() call");
+            inputArea.setPrefRowCount(2);
+            inputArea.getStyleClass().add("run-input");
+
+            HBox buttonBox = new HBox(10, runBtn, checkBtn, showHintBtn, showSolutionBtn);
+            buttonBox.setAlignment(Pos.CENTER_LEFT);
+            buttonBox.setPadding(new Insets(10, 0, 0, 0));
+
+            box = new VBox(5, editor, inputArea, buttonBox, runOutput.status, runOutput.output);
+            box.setPadding(new Insets(10));
+            box.setStyle("-fx-background-color: #f5f5f5; -fx-background-radius: 5; -fx-border-color: #ddd; -fx-border-radius: 5;");
+
+            runBtn.setOnAction(e -> actions.runExercise(section));
+            checkBtn.setOnAction(e -> actions.checkExercise(section));
+            showHintBtn.setOnAction(e -> actions.showHint(section));
+            showSolutionBtn.setOnAction(e -> actions.showSolution(section));
+        }
+
+        ExerciseView show(LessonSection.Exercise section) {
+            LessonSection.ExerciseDraft draft = section.draft();
+            editor.replaceText(draft.code.get());
+            editor.getUndoManager().forgetHistory();
+            editor.moveTo(0);
+            this.section = section;
+
+            inputArea.textProperty().bindBidirectional(draft.input);
+            runOutput.bind(draft.run);
+            runBtn.disableProperty().bind(draft.run.running);
+            checkBtn.disableProperty().bind(draft.run.running);
+            return this;
+        }
+
+        @Override
+        void unbind() {
+            if (section != null) {
+                inputArea.textProperty().unbindBidirectional(section.draft().input);
+            }
+            runOutput.unbind();
+            runBtn.disableProperty().unbind();
+            checkBtn.disableProperty().unbind();
+            section = null;
+        }
+
+        void dispose() {
+            highlighter.detach();
+        }
+
+        @Override
+        Node node() {
+            return box;
+        }
+    }
+
+    /**
+     * Status line and output of a run, hidden until the first run of the bound section
+     */
+    private static final class RunOutputView {
+        private final Label status = new Label();
+        private final TextArea output = new TextArea();
+        private final ChangeListener<Boolean> passedListener = (observable, oldValue, passed) -> setPassed(passed);
+
+        private LessonSection.RunState state;
+
+        RunOutputView(double outputHeight) {
+            status.getStyleClass().add("run-status");
+            output.setEditable(false);
+            output.setPrefHeight(outputHeight);
+            output.getStyleClass().add("run-output");
+        }
+
+        void bind(LessonSection.RunState state) {
+            this.state = state;
+            status.textProperty().bind(state.status);
+            output.textProperty().bind(state.output);
+            status.visibleProperty().bind(state.shown);
+            status.managedProperty().bind(state.shown);
+            output.visibleProperty().bind(state.shown);
+            output.managedProperty().bind(state.shown);
+            state.passed.addListener(passedListener);
+            setPassed(state.passed.get());
+        }
+
+        void unbind() {
+            if (state == null) {
+                return;
+            }
+            status.textProperty().unbind();
+            output.textProperty().unbind();
+            status.visibleProperty().unbind();
+            status.managedProperty().unbind();
+            output.visibleProperty().unbind();
+            output.managedProperty().unbind();
+            state.passed.removeListener(passedListener);
+            state = null;
+        }
+
+        private void setPassed(boolean passed) {
+            status.getStyleClass().removeAll("run-passed", "run-failed");
+            status.getStyleClass().add(passed ? "run-passed" : "run-failed");
+        }
+    }
+}
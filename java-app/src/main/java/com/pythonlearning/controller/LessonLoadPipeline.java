@@ -0,0 +1,88 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.database.ProgressStore;
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.util.ContentLoader;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Loads and pre-renders lessons on background (virtual) threads.
+ *
+ * Resource I/O, parsing and progress queries never run on the FX thread. Starting
+ * a new load cancels the one in flight, and only the result of the most recent
+ * request is handed back to the FX thread for the final scene graph swap.
+ * All methods must be called on the FX thread.
+ */
+class LessonLoadPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(LessonLoadPipeline.class);
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lesson-load-", 0).factory());
+    private final ProgressStore progressStore;
+
+    private Task<RenderedLesson> currentTask;
+
+    LessonLoadPipeline(ProgressStore progressStore) {
+        this.progressStore = progressStore;
+    }
+
+    /**
+     * Load a lesson, superseding any load still in progress
+     *
+     * @param onLoaded   called on the FX thread with the rendered lesson
+     * @param onNotFound called on the FX thread if the lesson does not exist
+     */
+    void load(int moduleId, int lessonId, Consumer<RenderedLesson> onLoaded, Runnable onNotFound) {
+        if (currentTask != null) {
+            currentTask.cancel();
+        }
+
+        Task<RenderedLesson> task = new Task<>() {
+            @Override
+            protected RenderedLesson call() {
+                Lesson lesson = ContentLoader.loadLesson(moduleId, lessonId);
+                if (lesson == null || isCancelled()) {
+                    return null;
+                }
+
+                int overallProgress = progressStore.getOverallProgress(ContentLoader.getTotalLessons());
+                RenderedLesson rendered = RenderedLesson.render(moduleId, lessonId, lesson, overallProgress);
+
+                // Warm the neighbouring lessons so Previous/Next find them in the cache
+                ContentLoader.prefetchAround(moduleId, lessonId);
+                return rendered;
+            }
+        };
+
+        task.setOnSucceeded(event -> {
+            // A superseded task may complete before its cancellation lands
+            if (task != currentTask) {
+                return;
+            }
+            currentTask = null;
+
+            RenderedLesson rendered = task.getValue();
+            if (rendered != null) {
+                onLoaded.accept(rendered);
+            } else {
+                onNotFound.run();
+            }
+        });
+        task.setOnFailed(event -> {
+            if (task == currentTask) {
+                currentTask = null;
+                logger.error("Error loading lesson: Module {} Lesson {}", moduleId, lessonId, task.getException());
+                onNotFound.run();
+            }
+        });
+
+        currentTask = task;
+        executor.execute(task);
+    }
+}
@@ -0,0 +1,90 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.model.Lesson;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Node;
+import org.fxmisc.richtext.model.StyleSpans;
+
+import java.util.Collection;
+
+/**
+ * One item of the virtualized lesson content (see {@link LessonContentPane}).
+ *
+ * Sections only describe what to show; the nodes showing them are recycled as the
+ * learner scrolls. Anything the learner changes (exercise code, program input, run
+ * results) therefore lives in the section's state objects rather than in the nodes,
+ * so it survives the section scrolling out of view.
+ */
+sealed interface LessonSection {
+
+    /**
+     * Small grey line such as the estimated time, optionally followed by a separator
+     */
+    record Info(String text, boolean separator) implements LessonSection {
+    }
+
+    /**
+     * Section title with an optional agent badge
+     */
+    record Header(String title, String badge) implements LessonSection {
+    }
+
+    /**
+     * Pre-rendered HTML document shown in a WebView
+     */
+    record Html(String html) implements LessonSection {
+    }
+
+    /**
+     * Read-only code example with its documented output and a Run Example button
+     */
+    record Code(Lesson.CodeExample example, StyleSpans<Collection<String>> styles,
+                RunState run) implements LessonSection {
+    }
+
+    /**
+     * Exercise editor with program input, Run/Check and hint/solution buttons
+     */
+    record Exercise(RenderedLesson rendered, ExerciseDraft draft) implements LessonSection {
+    }
+
+    /**
+     * A node built elsewhere, e.g. a quiz or the welcome message
+     */
+    record Prebuilt(Node node) implements LessonSection {
+    }
+
+    /**
+     * Status and output of the last run started from a section (FX thread only)
+     */
+    final class RunState {
+        final StringProperty status = new SimpleStringProperty("");
+        final BooleanProperty passed = new SimpleBooleanProperty();
+        final StringProperty output = new SimpleStringProperty("");
+        final BooleanProperty shown = new SimpleBooleanProperty();
+        final BooleanProperty running = new SimpleBooleanProperty();
+
+        void show(String status, boolean passed, String output) {
+            this.status.set(status);
+            this.passed.set(passed);
+            this.output.set(output);
+            this.shown.set(true);
+        }
+    }
+
+    /**
+     * The learner's work on an exercise (FX thread only)
+     */
+    final class ExerciseDraft {
+        final StringProperty code;
+        final StringProperty input = new SimpleStringProperty("");
+        final RunState run = new RunState();
+
+        ExerciseDraft(String starterCode) {
+            this.code = new SimpleStringProperty(starterCode != null ? starterCode : "");
+        }
+    }
+}
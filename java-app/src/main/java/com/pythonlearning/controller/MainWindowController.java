@@ -1,29 +1,46 @@
 package com.pythonlearning.controller;
 
-import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.database.ProgressStore;
+import com.pythonlearning.grading.GradeResult;
+import com.pythonlearning.grading.QuizGrader;
+import com.pythonlearning.grading.Submission;
+import com.pythonlearning.metrics.Metrics;
 import com.pythonlearning.model.Lesson;
 import com.pythonlearning.model.Module;
 import com.pythonlearning.model.Quiz;
+import com.pythonlearning.runner.ExerciseRunner;
+import com.pythonlearning.runner.RunResult;
+import com.pythonlearning.util.ContentChange;
 import com.pythonlearning.util.ContentLoader;
+import com.pythonlearning.util.SearchIndex;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
-import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.web.WebEngine;
-import javafx.scene.web.WebView;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 import org.fxmisc.richtext.CodeArea;
 import org.fxmisc.richtext.LineNumberFactory;
+import org.fxmisc.richtext.model.StyleSpans;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Main Window Controller for the Python Learning Platform.
@@ -32,81 +49,112 @@ import java.util.ResourceBundle;
 public class MainWindowController implements Initializable {
     private static final Logger logger = LoggerFactory.getLogger(MainWindowController.class);
 
+    // Idle WebViews kept for content cells that are created when the learner scrolls
+    private static final int WEB_VIEW_POOL_SIZE = 8;
+
+    private static final int MAX_SEARCH_RESULTS = 12;
+
     @FXML private BorderPane mainContainer;
     @FXML private ListView<Module> moduleListView;
     @FXML private Label moduleTitle;
     @FXML private Label lessonTitle;
     @FXML private ProgressBar progressBar;
     @FXML private Label progressLabel;
-    @FXML private VBox contentArea;
+    @FXML private StackPane contentHost;
     @FXML private Button prevLessonBtn;
     @FXML private Button nextLessonBtn;
     @FXML private Button markCompleteBtn;
+    @FXML private Button takeQuizBtn;
+    @FXML private TextField searchField;
 
     private Module currentModule;
     private int currentLessonId = 1;
     private Lesson currentLesson;
-    private ProgressDatabase database;
+    private final ProgressStore progressStore;
+    private final LessonLoadPipeline loadPipeline;
+    private final QuizGrader quizGrader = new QuizGrader();
+    private final QuizPreloader quizPreloader;
+    private final ExerciseRunner exerciseRunner;
+
+    // Quiz attempts are written off the FX thread
+    private final ExecutorService progressWriter =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("progress-write-", 0).factory());
+
+    // Run and Check wait on the Python worker pool off the FX thread
+    private final ExecutorService codeRunner =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("code-run-", 0).factory());
+
+    // The quiz on screen, or null while a lesson is shown
+    private QuizView currentQuiz;
+
+    // Module whose quiz opens once its final lesson is displayed (0 = none)
+    private int pendingQuizModule;
+
+    private SearchIndex searchIndex;
+    private final ContextMenu searchResults = new ContextMenu();
+
+    private final WebViewPool webViewPool = new WebViewPool(WEB_VIEW_POOL_SIZE);
+    private LessonContentPane contentPane;
+
+    // Render measurement for the lesson currently being displayed
+    private long renderStartNanos;
+    private long navigationStartNanos;
+    private int renderGeneration;
+    private int pendingWebViews;
+    private Runnable onFirstLessonRendered;
+
+    /**
+     * Create the controller for one learner's progress (see PythonLearningApp's controller factory)
+     */
+    public MainWindowController(ProgressStore progressStore, ExerciseRunner exerciseRunner) {
+        this.progressStore = progressStore;
+        this.exerciseRunner = exerciseRunner;
+        this.loadPipeline = new LessonLoadPipeline(progressStore);
+        this.quizPreloader = new QuizPreloader(quizGrader, progressStore.getLearnerName());
+    }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         logger.info("Initializing Main Window Controller");
 
-        database = ProgressDatabase.getInstance();
-
+        setupContentPane();
         setupModuleList();
         setupProgressDisplay();
         setupNavigationButtons();
+        setupSearch();
+
+        // Dev mode: show lesson and quiz edits from the content directory as they are saved
+        if (ContentLoader.watchContent(changes -> Platform.runLater(() -> onContentChanged(changes)))) {
+            logger.info("Content hot reload enabled for {}", ContentLoader.getContentDir());
+        }
 
         // Load first module and lesson by default
         loadModule(1);
         loadLesson(1, 1);
     }
 
+    /**
+     * Replace the FXML content area with the virtualized lesson pane, keeping the welcome
+     * message as its only item until the first lesson arrives
+     */
+    private void setupContentPane() {
+        contentPane = new LessonContentPane(webViewPool, new SectionActions());
+        List<LessonSection> welcome = contentHost.getChildren().stream()
+                .<LessonSection>map(LessonSection.Prebuilt::new)
+                .toList();
+        contentHost.getChildren().setAll(contentPane.getNode());
+        contentPane.show(welcome);
+    }
+
     /**
      * Setup the module list view
      */
     private void setupModuleList() {
         List<Module> modules = ContentLoader.getAllModules();
-
         moduleListView.getItems().addAll(modules);
 
         // Custom cell factory to display module with icon and progress
-        moduleListView.setCellFactory(param -> new ListCell<>() {
-            @Override
-            protected void updateItem(Module module, boolean empty) {
-                super.updateItem(module, empty);
-
-                if (empty || module == null) {
-                    setText(null);
-                    setGraphic(null);
-                } else {
-                    VBox box = new VBox(5);
-                    box.setPadding(new Insets(5));
-
-                    Label titleLabel = new Label(module.getIcon() + " Module " + module.getId() + ": " + module.getTitle());
-                    titleLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
-
-                    Label subtitleLabel = new Label(module.getSubtitle());
-                    subtitleLabel.setFont(Font.font("System", 12));
-                    subtitleLabel.setStyle("-fx-text-fill: #666;");
-
-                    // Progress indicator
-                    int progress = database.getModuleProgress(module.getId(), module.getLessons());
-                    Label progressLabel = new Label(progress + "% Complete");
-                    progressLabel.setFont(Font.font("System", 10));
-
-                    if (progress == 100) {
-                        progressLabel.setStyle("-fx-text-fill: green; -fx-font-weight: bold;");
-                    } else if (progress > 0) {
-                        progressLabel.setStyle("-fx-text-fill: orange;");
-                    }
-
-                    box.getChildren().addAll(titleLabel, subtitleLabel, progressLabel);
-                    setGraphic(box);
-                }
-            }
-        });
+        moduleListView.setCellFactory(param -> new ModuleListCell(progressStore));
 
         // Handle module selection
         moduleListView.getSelectionModel().selectedItemProperty().addListener(
@@ -133,6 +181,123 @@ public class MainWindowController implements Initializable {
         prevLessonBtn.setOnAction(event -> navigateToPreviousLesson());
         nextLessonBtn.setOnAction(event -> navigateToNextLesson());
         markCompleteBtn.setOnAction(event -> markCurrentLessonComplete());
+        takeQuizBtn.setOnAction(event -> openQuiz());
+    }
+
+    /**
+     * Load the search index in the background and enable the search box once it is ready
+     */
+    private void setupSearch() {
+        Task<SearchIndex> load = new Task<>() {
+            @Override
+            protected SearchIndex call() {
+                return ContentLoader.getSearchIndex();
+            }
+        };
+        load.setOnSucceeded(event -> {
+            searchIndex = load.getValue();
+            searchField.setPromptText("🔍 Search lessons and quizzes");
+            searchField.setDisable(false);
+        });
+        load.setOnFailed(event -> {
+            logger.error("Error loading search index", load.getException());
+            searchField.setPromptText("Search unavailable");
+        });
+        Thread.ofVirtual().name("search-index").start(load);
+
+        // Queries take microseconds, so they run on the FX thread as the learner types
+        searchField.textProperty().addListener((observable, oldValue, query) -> showSearchResults(query));
+        searchField.setOnAction(event -> {
+            if (!searchResults.getItems().isEmpty()) {
+                searchResults.getItems().get(0).fire();
+            }
+        });
+    }
+
+    /**
+     * Apply lesson and quiz files edited in dev mode. The loader has already replaced the
+     * cached content and index entries; this drops quizzes built from the old files and
+     * re-renders the lesson or quiz on screen if it is one of them.
+     */
+    private void onContentChanged(Set<ContentChange> changes) {
+        if (searchIndex != null) {
+            searchIndex = ContentLoader.getSearchIndex();
+        }
+        for (ContentChange change : changes) {
+            if (change.isQuiz()) {
+                quizGrader.invalidate(change.moduleId());
+                quizPreloader.invalidate(change.moduleId());
+            }
+        }
+
+        if (currentQuiz != null && changes.contains(ContentChange.quiz(currentQuiz.getModuleId()))) {
+            QuizView shown = currentQuiz;
+            quizPreloader.get(shown.getModuleId(), quiz -> {
+                if (currentQuiz == shown) {
+                    displayQuiz(quiz);
+                }
+            }, () -> showError("Quiz not found", "This module's quiz could not be read."));
+        } else if (currentLesson != null && currentModule != null
+                && changes.contains(ContentChange.lesson(currentModule.getId(), currentLessonId))) {
+            // A later navigation supersedes this load, so it cannot replace another lesson
+            loadPipeline.load(currentModule.getId(), currentLessonId, rendered -> displayLesson(rendered, true),
+                    () -> showError("Lesson not found", "This lesson could not be read."));
+        }
+    }
+
+    /**
+     * Show the best matches for a query under the search box
+     */
+    private void showSearchResults(String query) {
+        if (searchIndex == null || query.isBlank()) {
+            searchResults.hide();
+            return;
+        }
+
+        List<SearchIndex.Hit> hits = searchIndex.search(query, MAX_SEARCH_RESULTS);
+        List<MenuItem> items = new ArrayList<>(Math.max(hits.size(), 1));
+        for (SearchIndex.Hit hit : hits) {
+            SearchIndex.Document document = hit.document();
+            String location = document.kind() == SearchIndex.Document.Kind.LESSON
+                    ? "Module " + document.moduleId() + " · Lesson " + document.lessonId()
+                    : "Module " + document.moduleId() + " · Quiz";
+
+            Label field = new Label(location + " · " + hit.field());
+            field.getStyleClass().add("search-result-field");
+            VBox graphic = new VBox(2, new Label(document.title()), field);
+
+            CustomMenuItem item = new CustomMenuItem(graphic, true);
+            item.setOnAction(event -> openSearchResult(document));
+            items.add(item);
+        }
+        if (items.isEmpty()) {
+            MenuItem none = new MenuItem("No matches");
+            none.setDisable(true);
+            items.add(none);
+        }
+
+        searchResults.getItems().setAll(items);
+        if (!searchResults.isShowing()) {
+            searchResults.show(searchField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Navigate to the lesson or quiz of a search result
+     */
+    private void openSearchResult(SearchIndex.Document document) {
+        searchResults.hide();
+        Module module = ContentLoader.getModule(document.moduleId());
+        if (module == null) return;
+
+        loadModule(module.getId());
+        if (document.kind() == SearchIndex.Document.Kind.LESSON) {
+            loadLesson(module.getId(), document.lessonId());
+        } else {
+            // The quiz is opened from the module's final lesson
+            loadLesson(module.getId(), module.getLessons());
+            pendingQuizModule = module.getId();
+        }
     }
 
     /**
@@ -151,169 +316,380 @@ public class MainWindowController implements Initializable {
     }
 
     /**
-     * Load a specific lesson
+     * Load a specific lesson in the background; the content is swapped in once it is ready
      */
     private void loadLesson(int moduleId, int lessonId) {
-        currentLessonId = lessonId;
-        currentLesson = ContentLoader.loadLesson(moduleId, lessonId);
+        navigationStartNanos = System.nanoTime();
 
-        if (currentLesson != null) {
-            displayLesson(currentLesson);
-            updateNavigationButtons();
-            updateProgressDisplay();
-        } else {
+        // Navigation state moves immediately so rapid Next/Previous clicks keep advancing
+        currentLessonId = lessonId;
+        currentLesson = null;
+        currentQuiz = null;
+        pendingQuizModule = 0;
+        updateNavigationButtons();
+        markCompleteBtn.setDisable(true);
+        showQuizButton(false);
+
+        loadPipeline.load(moduleId, lessonId, this::displayLesson, () -> {
             logger.warn("Lesson not found: Module {} Lesson {}", moduleId, lessonId);
             showError("Lesson not found", "This lesson has not been created yet.");
-        }
+        });
     }
 
     /**
-     * Display a lesson in the content area
+     * Display a pre-rendered lesson in the content area
      */
-    private void displayLesson(Lesson lesson) {
-        contentArea.getChildren().clear();
+    private void displayLesson(RenderedLesson rendered) {
+        displayLesson(rendered, false);
+    }
+
+    /**
+     * Display a pre-rendered lesson, at the top or (inPlace) at the current scroll position
+     */
+    private void displayLesson(RenderedLesson rendered, boolean inPlace) {
+        long start = System.nanoTime();
+        Lesson lesson = rendered.lesson();
+        currentLesson = lesson;
+        markCompleteBtn.setDisable(false);
+        showOverallProgress(rendered.overallProgress());
+
         lessonTitle.setText(lesson.getTitle());
 
-        // Estimated time
-        Label timeLabel = new Label("⏱️ " + lesson.getEstimatedTime());
-        timeLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        contentArea.getChildren().add(timeLabel);
+        // Build the module quiz in the background while the final lesson is read
+        boolean finalLesson = currentModule != null && rendered.lessonId() == currentModule.getLessons();
+        if (finalLesson) {
+            quizPreloader.preload(rendered.moduleId());
+            showQuizButton(true);
+        }
 
-        // Add separator
-        contentArea.getChildren().add(new Separator());
+        List<LessonSection> sections = new ArrayList<>();
+        sections.add(new LessonSection.Info("⏱️ " + lesson.getEstimatedTime(), true));
 
         // Concept section
-        addSectionHeader("🧩 The Concept", "The Simplifier");
-        WebView conceptView = createWebView(lesson.getConcept());
-        contentArea.getChildren().add(conceptView);
+        sections.add(new LessonSection.Header("🧩 The Concept", "The Simplifier"));
+        sections.add(new LessonSection.Html(rendered.concept().html()));
 
         // Code example section
         if (lesson.getCodeExample() != null) {
-            addSectionHeader("💻 Code Example", "The Coder");
+            sections.add(new LessonSection.Header("💻 Code Example", "The Coder"));
+            sections.add(new LessonSection.Code(lesson.getCodeExample(), rendered.codeExampleStyles(),
+                    new LessonSection.RunState()));
+        }
+
+        // Syntax breakdown
+        sections.add(new LessonSection.Header("🔍 Syntax Breakdown", "The Simplifier"));
+        sections.add(new LessonSection.Html(rendered.syntaxBreakdown().html()));
+
+        // Exercise section
+        if (lesson.getExercise() != null) {
+            sections.add(new LessonSection.Header("✏️ Interactive Exercise", "The Coder"));
+            sections.add(new LessonSection.Html(rendered.instructions().html()));
+            sections.add(new LessonSection.Exercise(rendered,
+                    new LessonSection.ExerciseDraft(lesson.getExercise().getStarterCode())));
+        }
+
+        // Key takeaways
+        sections.add(new LessonSection.Header("🎯 Key Takeaways", null));
+        sections.add(new LessonSection.Html(rendered.keyTakeaways().html()));
+
+        // Nodes are only built for the sections on screen, in the next layout pass
+        showContent(sections, inPlace);
+        Metrics.LESSON_DISPLAY.recordSince(start);
+
+        // A search result for the quiz: open it over the lesson, which may happen right
+        // away if the quiz was built earlier, so only once the lesson is on screen
+        if (finalLesson && pendingQuizModule == rendered.moduleId()) {
+            pendingQuizModule = 0;
+            openQuiz();
+        }
+    }
 
-            CodeArea codeArea = new CodeArea(lesson.getCodeExample().getCode());
-            codeArea.setParagraphGraphicFactory(LineNumberFactory.get(codeArea));
-            codeArea.setEditable(false);
-            codeArea.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 13px;");
-            codeArea.setPrefHeight(300);
+    /**
+     * Show a lesson's or quiz's sections, starting a new render measurement. The content
+     * pane recycles the previous sections' nodes, WebViews included.
+     */
+    private void showContent(List<LessonSection> sections, boolean inPlace) {
+        renderStartNanos = System.nanoTime();
+        renderGeneration++;
+        pendingWebViews = 0;
+        if (inPlace) {
+            contentPane.replace(sections);
+        } else {
+            contentPane.show(sections);
+        }
+    }
 
-            VBox codeBox = new VBox(5, codeArea);
-            codeBox.setPadding(new Insets(10));
-            codeBox.setStyle("-fx-background-color: #2b2b2b; -fx-background-radius: 5;");
+    /**
+     * Handlers for the buttons of the lesson sections
+     */
+    private final class SectionActions implements LessonContentPane.Actions {
 
-            // Output
-            if (lesson.getCodeExample().getOutput() != null && !lesson.getCodeExample().getOutput().isEmpty()) {
-                Label outputLabel = new Label("Output:");
-                outputLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: white;");
+        @Override
+        public void runExample(LessonSection.Code section) {
+            runInBackground(() -> exerciseRunner.verifyExample(section.example()),
+                    check -> showCheck(check, "the output shown above", section.run()),
+                    section.run());
+        }
 
-                TextArea outputArea = new TextArea(lesson.getCodeExample().getOutput());
-                outputArea.setEditable(false);
-                outputArea.setPrefHeight(100);
-                outputArea.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 12px;");
+        @Override
+        public void runExercise(LessonSection.Exercise section) {
+            LessonSection.ExerciseDraft draft = section.draft();
+            String code = draft.code.get();
+            String input = draft.input.get();
+            runInBackground(() -> exerciseRunner.run(code, input),
+                    result -> showRun(result, draft.run),
+                    draft.run);
+        }
+
+        @Override
+        public void checkExercise(LessonSection.Exercise section) {
+            LessonSection.ExerciseDraft draft = section.draft();
+            Lesson lesson = section.rendered().lesson();
+            String code = draft.code.get();
+            String input = draft.input.get();
+            runInBackground(() -> exerciseRunner.check(code, lesson.getSolution(), input),
+                    check -> showCheck(check, "the solution's output", draft.run),
+                    draft.run);
+        }
+
+        @Override
+        public void showHint(LessonSection.Exercise section) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Hint");
+            alert.setHeaderText("Need some help?");
+            alert.setContentText(section.rendered().hint().text());
+            alert.showAndWait();
+        }
+
+        @Override
+        public void showSolution(LessonSection.Exercise section) {
+            // The solution is only parsed once asked for, so read it off the FX thread
+            RenderedLesson rendered = section.rendered();
+            Task<RenderedLesson.Solution> task = new Task<>() {
+                @Override
+                protected RenderedLesson.Solution call() {
+                    return rendered.renderSolution();
+                }
+            };
+            task.setOnSucceeded(event -> showSolutionDialog(task.getValue()));
+            task.setOnFailed(event ->
+                    logger.error("Error loading solution: {}", task.getException().getMessage(), task.getException()));
+            codeRunner.execute(task);
+        }
+
+        @Override
+        public void webViewShown(WebEngine engine) {
+            trackRender(engine);
+        }
+    }
 
-                codeBox.getChildren().addAll(outputLabel, outputArea);
+    /**
+     * Run code on the worker pool, marking the section's run as busy until it finishes.
+     * The result goes to the section's run state, which outlives the section's nodes.
+     */
+    private <T> void runInBackground(Callable<T> run, Consumer<T> onDone, LessonSection.RunState state) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return run.call();
             }
+        };
 
-            contentArea.getChildren().add(codeBox);
+        state.running.set(true);
+        task.setOnSucceeded(event -> {
+            state.running.set(false);
+            onDone.accept(task.getValue());
+        });
+        task.setOnFailed(event -> {
+            state.running.set(false);
+            logger.error("Error running code: {}", task.getException().getMessage(), task.getException());
+        });
+        codeRunner.execute(task);
+    }
+
+    private void showRun(RunResult result, LessonSection.RunState state) {
+        state.show(result.summary(), result.succeeded(), result.stdout() + result.stderr());
+    }
+
+    /**
+     * Show a Check verdict; on a mismatch, the actual output above the expected one
+     */
+    private void showCheck(ExerciseRunner.Check check, String reference, LessonSection.RunState state) {
+        RunResult run = check.run();
+        String output = check.verdict() == ExerciseRunner.Check.Verdict.DIFFERENT
+                ? "Your output:\n" + run.stdout() + "\nExpected:\n" + check.expected()
+                : run.stdout() + run.stderr();
+
+        switch (check.verdict()) {
+            case PASSED -> state.show("✔ Correct! The output matches " + reference + ".", true, output);
+            case DIFFERENT -> state.show("✘ Not quite: the output differs from " + reference + ".", false, output);
+            case FAILED -> state.show(run.summary(), false, output);
+            case NO_REFERENCE -> state.show(
+                    run.summary() + ". No reference output to compare with (does it need program input?)", true, output);
         }
+    }
 
-        // Syntax breakdown
-        addSectionHeader("🔍 Syntax Breakdown", "The Simplifier");
-        WebView breakdownView = createWebView(lesson.getSyntaxBreakdown());
-        contentArea.getChildren().add(breakdownView);
+    /**
+     * Count a WebView load towards the current lesson's render time.
+     * Attached after loadContent so the cancelled blank load of a recycled view is not counted.
+     */
+    private void trackRender(WebEngine engine) {
+        int generation = renderGeneration;
+        pendingWebViews++;
 
-        // Exercise section
-        if (lesson.getExercise() != null) {
-            addSectionHeader("✏️ Interactive Exercise", "The Coder");
-            WebView exerciseView = createWebView(lesson.getExercise().getInstructions());
-            contentArea.getChildren().add(exerciseView);
-
-            CodeArea exerciseArea = new CodeArea(lesson.getExercise().getStarterCode());
-            exerciseArea.setParagraphGraphicFactory(LineNumberFactory.get(exerciseArea));
-            exerciseArea.setPrefHeight(300);
-
-            VBox exerciseBox = new VBox(5, exerciseArea);
-            exerciseBox.setPadding(new Insets(10));
-            exerciseBox.setStyle("-fx-background-color: #f5f5f5; -fx-background-radius: 5; -fx-border-color: #ddd; -fx-border-radius: 5;");
-
-            Button showHintBtn = new Button("💡 Show Hint");
-            Button showSolutionBtn = new Button("✅ Show Solution");
-
-            HBox buttonBox = new HBox(10, showHintBtn, showSolutionBtn);
-            buttonBox.setAlignment(Pos.CENTER_LEFT);
-            buttonBox.setPadding(new Insets(10, 0, 0, 0));
-
-            exerciseBox.getChildren().add(buttonBox);
-            contentArea.getChildren().add(exerciseBox);
-
-            // Hint button handler
-            showHintBtn.setOnAction(e -> {
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("Hint");
-                alert.setHeaderText("Need some help?");
-                alert.setContentText(stripHtml(lesson.getExercise().getHint()));
-                alert.showAndWait();
-            });
-
-            // Solution button handler
-            showSolutionBtn.setOnAction(e -> showSolutionDialog(lesson.getSolution()));
+        if (isFinished(engine.getLoadWorker().getState())) {
+            onWebViewRendered(generation);
+            return;
         }
 
-        // Key takeaways
-        addSectionHeader("🎯 Key Takeaways", null);
-        WebView takeawaysView = createWebView(lesson.getKeyTakeaways());
-        contentArea.getChildren().add(takeawaysView);
+        engine.getLoadWorker().stateProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Worker.State> observable,
+                                Worker.State oldState, Worker.State newState) {
+                if (isFinished(newState)) {
+                    observable.removeListener(this);
+                    onWebViewRendered(generation);
+                }
+            }
+        });
+    }
+
+    private static boolean isFinished(Worker.State state) {
+        return state == Worker.State.SUCCEEDED || state == Worker.State.FAILED || state == Worker.State.CANCELLED;
     }
 
     /**
-     * Add a section header to the content area
+     * Show the diagnostics window (latency histograms, counters, caches and heap)
      */
-    private void addSectionHeader(String title, String agentBadge) {
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-        header.setPadding(new Insets(20, 0, 10, 0));
+    public void showDiagnostics() {
+        DiagnosticsPanel.show(mainContainer.getScene().getWindow());
+    }
 
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("System", FontWeight.BOLD, 18));
+    /**
+     * Start WebKit before the first lesson needs it (FX thread)
+     */
+    public void prewarmWebViews() {
+        webViewPool.prewarm(1);
+    }
 
-        header.getChildren().add(titleLabel);
+    /**
+     * Run an action once, when the first lesson has finished rendering (startup timeline)
+     */
+    public void setOnFirstLessonRendered(Runnable action) {
+        this.onFirstLessonRendered = action;
+    }
 
-        if (agentBadge != null) {
-            Label badge = new Label(agentBadge);
-            badge.setStyle("-fx-background-color: #3b82f6; -fx-text-fill: white; " +
-                    "-fx-padding: 3 8 3 8; -fx-background-radius: 3; -fx-font-size: 10px;");
-            header.getChildren().add(badge);
+    /**
+     * Log render latency and heap once every WebView of the current lesson has loaded
+     */
+    private void onWebViewRendered(int generation) {
+        if (generation != renderGeneration || --pendingWebViews > 0) {
+            return;
+        }
+        if (navigationStartNanos != 0) {
+            Metrics.NAVIGATION_TO_PAINT.recordSince(navigationStartNanos);
+            navigationStartNanos = 0;
+        }
+        if (onFirstLessonRendered != null) {
+            Runnable action = onFirstLessonRendered;
+            onFirstLessonRendered = null;
+            action.run();
         }
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        logger.debug("Lesson rendered in {} ms; heap used {} MB; {} WebViews created in total",
+                (System.nanoTime() - renderStartNanos) / 1_000_000,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024),
+                webViewPool.getCreatedCount());
+    }
+
+    /**
+     * Open the current module's quiz, waiting for its background build if necessary
+     */
+    private void openQuiz() {
+        if (currentModule == null || currentLesson == null) return;
 
-        contentArea.getChildren().add(header);
+        Lesson lesson = currentLesson;
+        takeQuizBtn.setDisable(true);
+        quizPreloader.get(currentModule.getId(), quiz -> {
+            // Ignore it if the learner has navigated away in the meantime
+            if (lesson == currentLesson) {
+                displayQuiz(quiz);
+            }
+        }, () -> {
+            takeQuizBtn.setDisable(false);
+            if (lesson == currentLesson) {
+                showError("Quiz not found", "This module's quiz has not been created yet.");
+            }
+        });
     }
 
     /**
-     * Create a WebView for HTML content
+     * Display a prebuilt quiz in the content area
      */
-    private WebView createWebView(String htmlContent) {
-        WebView webView = new WebView();
-        WebEngine engine = webView.getEngine();
+    private void displayQuiz(QuizView quiz) {
+        currentLesson = null;
+        currentQuiz = quiz;
+        markCompleteBtn.setDisable(true);
+        showQuizButton(false);
+        updateNavigationButtons();
+
+        lessonTitle.setText("📝 " + quiz.getTitle());
+
+        List<LessonSection> sections = new ArrayList<>();
+        int bestScore = progressStore.getQuizBestScore(quiz.getModuleId());
+        if (bestScore >= 0) {
+            sections.add(new LessonSection.Info("Best score so far: " + bestScore + "%" +
+                    (progressStore.isQuizPassed(quiz.getModuleId()) ? " ✅" : ""), false));
+        }
+        sections.add(new LessonSection.Prebuilt(quiz.getNode()));
+        showContent(sections, false);
 
-        String styledHtml = "<html><head><style>" +
-                "body { font-family: 'Segoe UI', Arial, sans-serif; font-size: 14px; line-height: 1.6; }" +
-                "code { background-color: #f4f4f4; padding: 2px 6px; border-radius: 3px; font-family: 'Courier New', monospace; }" +
-                "pre { background-color: #f4f4f4; padding: 10px; border-radius: 5px; overflow-x: auto; }" +
-                "ul, ol { margin-left: 20px; }" +
-                "</style></head><body>" + htmlContent + "</body></html>";
+        quiz.getSubmitButton().setOnAction(event -> submitQuiz(quiz));
+        quiz.getRetakeButton().setOnAction(event -> quiz.reset());
+    }
 
-        engine.loadContent(styledHtml);
-        webView.setPrefHeight(200);
-        webView.setMaxHeight(Double.MAX_VALUE);
+    /**
+     * Grade the quiz on screen and record the attempt in the background
+     */
+    private void submitQuiz(QuizView quiz) {
+        int[] answers = quiz.answers();
+        GradeResult result = quizGrader.grade(
+                new Submission(progressStore.getLearnerName(), quiz.getModuleId(), answers));
+        quiz.showResult(result, answers);
 
-        return webView;
+        Task<Void> record = new Task<>() {
+            @Override
+            protected Void call() {
+                progressStore.recordQuizAttempt(result.moduleId(), result.score(), result.totalQuestions());
+                return null;
+            }
+        };
+        record.setOnSucceeded(event -> moduleListView.refresh());
+        record.setOnFailed(event ->
+                logger.error("Error recording quiz attempt: Module {}", result.moduleId(), record.getException()));
+        progressWriter.execute(record);
+    }
+
+    /**
+     * Show or hide the quiz button next to "Mark Complete"
+     */
+    private void showQuizButton(boolean show) {
+        takeQuizBtn.setVisible(show);
+        takeQuizBtn.setManaged(show);
+        takeQuizBtn.setDisable(false);
     }
 
     /**
      * Show solution dialog
      */
-    private void showSolutionDialog(Lesson.Solution solution) {
-        if (solution == null) return;
+    private void showSolutionDialog(RenderedLesson.Solution rendered) {
+        if (rendered == null) return;
+        Lesson.Solution solution = rendered.solution();
+        StyleSpans<Collection<String>> codeStyles = rendered.codeStyles();
 
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Solution");
@@ -324,33 +700,32 @@ public class MainWindowController implements Initializable {
 
         CodeArea solutionCode = new CodeArea(solution.getCode());
         solutionCode.setParagraphGraphicFactory(LineNumberFactory.get(solutionCode));
+        if (codeStyles != null) {
+            solutionCode.setStyleSpans(0, codeStyles);
+        }
         solutionCode.setEditable(false);
         solutionCode.setPrefHeight(200);
 
         content.getChildren().add(new Label("Code:"));
         content.getChildren().add(solutionCode);
         content.getChildren().add(new Label("\nExplanation:"));
-        content.getChildren().add(new Label(stripHtml(solution.getExplanation())));
+        content.getChildren().add(new Label(rendered.explanation().text()));
 
         alert.getDialogPane().setContent(content);
         alert.getDialogPane().setPrefSize(600, 500);
         alert.showAndWait();
     }
 
-    /**
-     * Strip HTML tags from content
-     */
-    private String stripHtml(String html) {
-        return html != null ? html.replaceAll("<[^>]*>", "").trim() : "";
-    }
-
     /**
      * Navigate to previous lesson
      */
     private void navigateToPreviousLesson() {
         if (currentModule == null) return;
 
-        if (currentLessonId > 1) {
+        if (currentQuiz != null) {
+            // Back from the quiz to the module's final lesson
+            loadLesson(currentModule.getId(), currentLessonId);
+        } else if (currentLessonId > 1) {
             loadLesson(currentModule.getId(), currentLessonId - 1);
         } else if (currentModule.getId() > 1) {
             Module prevModule = ContentLoader.getModule(currentModule.getId() - 1);
@@ -370,8 +745,9 @@ public class MainWindowController implements Initializable {
         if (currentLessonId < currentModule.getLessons()) {
             loadLesson(currentModule.getId(), currentLessonId + 1);
         } else if (currentModule.getId() < 14) {
-            loadModule(currentModule.getId() + 1);
-            loadLesson(currentModule.getId() + 1, 1);
+            int nextModuleId = currentModule.getId() + 1;
+            loadModule(nextModuleId);
+            loadLesson(nextModuleId, 1);
         }
     }
 
@@ -381,7 +757,7 @@ public class MainWindowController implements Initializable {
     private void markCurrentLessonComplete() {
         if (currentModule == null || currentLesson == null) return;
 
-        database.markLessonComplete(currentModule.getId(), currentLessonId);
+        progressStore.markLessonComplete(currentModule.getId(), currentLessonId);
 
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Lesson Complete");
@@ -397,7 +773,8 @@ public class MainWindowController implements Initializable {
      * Update navigation buttons based on current position
      */
     private void updateNavigationButtons() {
-        boolean hasPrev = currentLessonId > 1 || (currentModule != null && currentModule.getId() > 1);
+        boolean hasPrev = currentQuiz != null || currentLessonId > 1 ||
+                (currentModule != null && currentModule.getId() > 1);
         boolean hasNext = (currentModule != null && currentLessonId < currentModule.getLessons()) ||
                 (currentModule != null && currentModule.getId() < 14);
 
@@ -410,8 +787,13 @@ public class MainWindowController implements Initializable {
      */
     private void updateProgressDisplay() {
         int totalLessons = ContentLoader.getTotalLessons();
-        int overallProgress = database.getOverallProgress(totalLessons);
+        showOverallProgress(progressStore.getOverallProgress(totalLessons));
+    }
 
+    /**
+     * Show an overall progress percentage in the header
+     */
+    private void showOverallProgress(int overallProgress) {
         progressBar.setProgress(overallProgress / 100.0);
         progressLabel.setText(overallProgress + "% Complete");
     }
@@ -0,0 +1,113 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.grading.AnswerKey;
+import com.pythonlearning.grading.QuizGrader;
+import com.pythonlearning.model.Quiz;
+import com.pythonlearning.util.ContentLoader;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Builds module quizzes on background (virtual) threads ahead of time.
+ *
+ * The controller asks for a module's quiz while the learner reads its final lesson, so
+ * by the time they open the quiz its JSON is parsed, its answer key compiled and every
+ * node built. Each module's quiz is built once per session and the finished view is
+ * reused; the option order is seeded from the learner and module.
+ * All methods must be called on the FX thread.
+ */
+class QuizPreloader {
+    private static final Logger logger = LoggerFactory.getLogger(QuizPreloader.class);
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("quiz-load-", 0).factory());
+    private final QuizGrader grader;
+    private final String learnerName;
+    private final Map<Integer, Task<QuizView>> tasks = new HashMap<>();
+
+    QuizPreloader(QuizGrader grader, String learnerName) {
+        this.grader = grader;
+        this.learnerName = learnerName;
+    }
+
+    /**
+     * Start building a module's quiz unless it is already built or being built
+     */
+    void preload(int moduleId) {
+        tasks.computeIfAbsent(moduleId, this::start);
+    }
+
+    /**
+     * Hand a module's quiz to the callbacks once it is built, starting the build if needed
+     *
+     * @param onReady    called on the FX thread with the quiz view
+     * @param onNotFound called on the FX thread if the module has no quiz
+     */
+    void get(int moduleId, Consumer<QuizView> onReady, Runnable onNotFound) {
+        Task<QuizView> task = tasks.computeIfAbsent(moduleId, this::start);
+
+        switch (task.getState()) {
+            case SUCCEEDED -> deliver(task, onReady, onNotFound);
+            case FAILED, CANCELLED -> {
+                // Allow a later attempt to rebuild it
+                tasks.remove(moduleId);
+                onNotFound.run();
+            }
+            default -> task.stateProperty().addListener((observable, oldState, state) -> {
+                if (state == Worker.State.SUCCEEDED) {
+                    deliver(task, onReady, onNotFound);
+                } else if (state == Worker.State.FAILED || state == Worker.State.CANCELLED) {
+                    tasks.remove(moduleId, task);
+                    onNotFound.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget a module's quiz, e.g. after its file was edited; the next request rebuilds it
+     */
+    void invalidate(int moduleId) {
+        tasks.remove(moduleId);
+    }
+
+    private static void deliver(Task<QuizView> task, Consumer<QuizView> onReady, Runnable onNotFound) {
+        if (task.getValue() != null) {
+            onReady.accept(task.getValue());
+        } else {
+            onNotFound.run();
+        }
+    }
+
+    private Task<QuizView> start(int moduleId) {
+        Task<QuizView> task = new Task<>() {
+            @Override
+            protected QuizView call() {
+                long start = System.nanoTime();
+                Quiz quiz = ContentLoader.loadQuiz(moduleId);
+                if (quiz == null || quiz.getQuestions() == null || quiz.getQuestions().isEmpty()) {
+                    return null;
+                }
+
+                AnswerKey answerKey = grader.answerKey(moduleId);
+                QuizView view = QuizView.build(moduleId, quiz, answerKey, Objects.hash(learnerName, moduleId));
+                logger.debug("Built quiz for module {} in {} ms", moduleId, (System.nanoTime() - start) / 1_000_000);
+                return view;
+            }
+        };
+        task.setOnFailed(event ->
+                logger.error("Error building quiz for module {}: {}", moduleId, task.getException().getMessage(), task.getException()));
+
+        executor.execute(task);
+        return task;
+    }
+}
@@ -0,0 +1,284 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.grading.AnswerKey;
+import com.pythonlearning.grading.GradeResult;
+import com.pythonlearning.model.Quiz;
+import com.pythonlearning.util.SectionRenderer;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.Toggle;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * The scene graph of one module's quiz, built in full off the FX thread.
+ *
+ * Every question card, option button and (hidden) explanation is created up front, so
+ * opening the quiz is a single node swap. Options are shuffled with a seeded RNG; each
+ * option button carries its original index (or a Boolean for true/false questions) as
+ * user data, so the selected answers are encoded with the module's {@link AnswerKey}
+ * regardless of display order. Questions whose options or explanation refer to options by
+ * position ("Both B and C are correct", "All of the above") keep their authored order.
+ * Retaking the quiz reshuffles the existing buttons instead of rebuilding or re-parsing
+ * anything.
+ *
+ * May be built on any thread; once shown it must only be used on the FX thread.
+ */
+final class QuizView {
+    // "Option B", "Both B and C", "A or D", "All of the above"
+    private static final Pattern POSITIONAL_REFERENCE = Pattern.compile(
+            "\\b(?:[Oo]ptions?|[Cc]hoices?|[Aa]nswers?|[Bb]oth)\\s+\\(?[A-H]\\b"
+                    + "|\\b[A-H]\\)?\\s+(?:and|or)\\s+\\(?[A-H]\\b"
+                    + "|\\b(?:[Aa]ll|[Nn]one|[Bb]oth) of the above\\b");
+
+    private final int moduleId;
+    private final Quiz quiz;
+    private final AnswerKey answerKey;
+    private final Random random;
+
+    private final VBox root = new VBox(15);
+    private final List<QuestionCard> cards;
+    private final Label resultLabel = new Label();
+    private final Button submitButton = new Button("Submit Answers");
+    private final Button retakeButton = new Button("🔄 Retake Quiz");
+
+    private QuizView(int moduleId, Quiz quiz, AnswerKey answerKey, long seed) {
+        this.moduleId = moduleId;
+        this.quiz = quiz;
+        this.answerKey = answerKey;
+        this.random = new Random(seed);
+        this.cards = new ArrayList<>(answerKey.questionCount());
+    }
+
+    /**
+     * Build the complete quiz view
+     *
+     * @param seed seed of the option shuffle; the same seed gives the same order
+     */
+    static QuizView build(int moduleId, Quiz quiz, AnswerKey answerKey, long seed) {
+        QuizView view = new QuizView(moduleId, quiz, answerKey, seed);
+        view.buildNodes();
+        view.shuffle();
+        return view;
+    }
+
+    private void buildNodes() {
+        root.getStyleClass().add("quiz-view");
+        root.setPadding(new Insets(10));
+
+        if (quiz.getDescription() != null) {
+            Label description = new Label(SectionRenderer.toText(quiz.getDescription()));
+            description.setWrapText(true);
+            root.getChildren().add(description);
+        }
+
+        Label info = new Label(answerKey.questionCount() + " questions · pass mark " + quiz.getPassingScore() + "%" +
+                (quiz.getEstimatedTime() != null ? " · ⏱️ " + quiz.getEstimatedTime() : ""));
+        info.getStyleClass().add("quiz-info");
+        root.getChildren().add(info);
+
+        List<Quiz.Question> questions = quiz.getQuestions();
+        for (int i = 0; i < answerKey.questionCount(); i++) {
+            QuestionCard card = new QuestionCard(i, questions.get(i));
+            cards.add(card);
+            root.getChildren().add(card.box);
+        }
+
+        submitButton.getStyleClass().add("complete-button");
+        submitButton.setDisable(true);
+        retakeButton.getStyleClass().add("nav-button");
+        retakeButton.setVisible(false);
+        retakeButton.managedProperty().bind(retakeButton.visibleProperty());
+        resultLabel.getStyleClass().add("quiz-result");
+        resultLabel.setWrapText(true);
+        resultLabel.setVisible(false);
+        resultLabel.managedProperty().bind(resultLabel.visibleProperty());
+
+        root.getChildren().addAll(submitButton, resultLabel, retakeButton);
+    }
+
+    int getModuleId() {
+        return moduleId;
+    }
+
+    String getTitle() {
+        return quiz.getTitle() != null ? quiz.getTitle() : "Module " + moduleId + " Quiz";
+    }
+
+    Node getNode() {
+        return root;
+    }
+
+    Button getSubmitButton() {
+        return submitButton;
+    }
+
+    Button getRetakeButton() {
+        return retakeButton;
+    }
+
+    /**
+     * Encode the selected answers; unanswered questions are {@link AnswerKey#UNANSWERED}
+     */
+    int[] answers() {
+        int[] answers = new int[cards.size()];
+        for (QuestionCard card : cards) {
+            Toggle selected = card.group.getSelectedToggle();
+            answers[card.index] = selected != null
+                    ? answerKey.encode(card.index, selected.getUserData())
+                    : AnswerKey.UNANSWERED;
+        }
+        return answers;
+    }
+
+    /**
+     * Lock the answers and show the score, the correct options and every explanation
+     */
+    void showResult(GradeResult result, int[] answers) {
+        for (QuestionCard card : cards) {
+            card.reveal(answerKey.isCorrect(card.index, answers[card.index]));
+        }
+
+        resultLabel.setText((result.passed() ? "🎉 Passed! " : "Not quite yet. ") +
+                "You scored " + result.score() + "/" + result.totalQuestions() +
+                " (" + result.percentage() + "%); the pass mark is " + answerKey.getPassingScore() + "%.");
+        resultLabel.getStyleClass().removeAll("quiz-passed", "quiz-failed");
+        resultLabel.getStyleClass().add(result.passed() ? "quiz-passed" : "quiz-failed");
+        resultLabel.setVisible(true);
+        submitButton.setDisable(true);
+        retakeButton.setVisible(true);
+    }
+
+    /**
+     * Clear all answers and reshuffle the options for another attempt
+     */
+    void reset() {
+        cards.forEach(QuestionCard::reset);
+        shuffle();
+        resultLabel.setVisible(false);
+        retakeButton.setVisible(false);
+        submitButton.setDisable(true);
+    }
+
+    private void shuffle() {
+        for (QuestionCard card : cards) {
+            card.shuffle(random);
+        }
+    }
+
+    private void updateSubmitButton() {
+        submitButton.setDisable(cards.stream().anyMatch(card -> card.group.getSelectedToggle() == null));
+    }
+
+    /**
+     * One question: its text, option buttons and explanation
+     */
+    private final class QuestionCard {
+        private final int index;
+        private final VBox box = new VBox(8);
+        private final VBox optionBox = new VBox(6);
+        private final ToggleGroup group = new ToggleGroup();
+        private final List<RadioButton> options = new ArrayList<>();
+        private final Label explanation;
+        private final boolean authoredOrder;
+
+        QuestionCard(int index, Quiz.Question question) {
+            this.index = index;
+            this.authoredOrder = refersToPositions(question);
+            box.getStyleClass().add("quiz-question");
+            box.setPadding(new Insets(12));
+
+            Label text = new Label((index + 1) + ". " + SectionRenderer.toText(question.getQuestion()));
+            text.getStyleClass().add("quiz-question-text");
+            text.setWrapText(true);
+            box.getChildren().add(text);
+
+            if ("code_output".equals(question.getType()) && question.getCode() != null
+                    && !question.getQuestion().contains("<code>")) {
+                Label code = new Label(question.getCode());
+                code.getStyleClass().add("quiz-code");
+                box.getChildren().add(code);
+            }
+
+            if (question.getOptions() != null && !question.getOptions().isEmpty()) {
+                List<String> texts = question.getOptions();
+                for (int option = 0; option < texts.size(); option++) {
+                    addOption(SectionRenderer.toText(texts.get(option)), option);
+                }
+            } else {
+                addOption("True", Boolean.TRUE);
+                addOption("False", Boolean.FALSE);
+            }
+            group.selectedToggleProperty().addListener((observable, oldValue, newValue) -> updateSubmitButton());
+            box.getChildren().add(optionBox);
+
+            explanation = new Label(SectionRenderer.toText(question.getExplanation()));
+            explanation.getStyleClass().add("quiz-explanation");
+            explanation.setWrapText(true);
+            explanation.setVisible(false);
+            explanation.managedProperty().bind(explanation.visibleProperty());
+            box.getChildren().add(explanation);
+        }
+
+        private void addOption(String text, Object answer) {
+            RadioButton button = new RadioButton(text);
+            button.getStyleClass().add("quiz-option");
+            button.setWrapText(true);
+            button.setUserData(answer);
+            button.setToggleGroup(group);
+            options.add(button);
+        }
+
+        void shuffle(Random random) {
+            // True/False keeps its natural order
+            if (authoredOrder || options.get(0).getUserData() instanceof Boolean) {
+                optionBox.getChildren().setAll(options);
+                return;
+            }
+            List<RadioButton> shuffled = new ArrayList<>(options);
+            Collections.shuffle(shuffled, random);
+            optionBox.getChildren().setAll(shuffled);
+        }
+
+        /**
+         * Whether the options or explanation name options by letter or position
+         */
+        private static boolean refersToPositions(Quiz.Question question) {
+            if (question.getExplanation() != null && POSITIONAL_REFERENCE.matcher(question.getExplanation()).find()) {
+                return true;
+            }
+            return question.getOptions() != null
+                    && question.getOptions().stream().anyMatch(option -> option != null && POSITIONAL_REFERENCE.matcher(option).find());
+        }
+
+        void reveal(boolean correct) {
+            box.getStyleClass().add(correct ? "quiz-correct" : "quiz-incorrect");
+            for (RadioButton option : options) {
+                option.setDisable(true);
+                if (answerKey.isCorrect(index, answerKey.encode(index, option.getUserData()))) {
+                    option.getStyleClass().add("quiz-answer");
+                }
+            }
+            explanation.setVisible(true);
+        }
+
+        void reset() {
+            group.selectToggle(null);
+            box.getStyleClass().removeAll("quiz-correct", "quiz-incorrect");
+            for (RadioButton option : options) {
+                option.setDisable(false);
+                option.getStyleClass().remove("quiz-answer");
+            }
+            explanation.setVisible(false);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.editor.PythonLexer;
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.util.SectionRenderer;
+import com.pythonlearning.util.SectionRenderer.Rendered;
+import com.pythonlearning.util.SectionRenderer.Section;
+import org.fxmisc.richtext.model.StyleSpans;
+
+import java.util.Collection;
+
+/**
+ * A lesson prepared for display off the FX thread: the sections shown on the page are
+ * resolved, the HTML sections are sanitized, styled and have their plain-text forms
+ * (see {@link SectionRenderer}) and the code example is already lexed. The solution
+ * stays unparsed until the learner asks for it, see {@link #renderSolution()}.
+ */
+record RenderedLesson(int moduleId, int lessonId, Lesson lesson,
+                      Rendered concept, Rendered syntaxBreakdown,
+                      Rendered instructions, Rendered hint, Rendered keyTakeaways,
+                      StyleSpans<Collection<String>> codeExampleStyles,
+                      int overallProgress) {
+
+    /**
+     * A lesson's solution prepared for the solution dialog
+     */
+    record Solution(Lesson.Solution solution, Rendered explanation, StyleSpans<Collection<String>> codeStyles) {
+    }
+
+    /**
+     * Resolve and pre-render the sections shown on the lesson page
+     */
+    static RenderedLesson render(int moduleId, int lessonId, Lesson lesson, int overallProgress) {
+        Lesson.Exercise exercise = lesson.getExercise();
+        Lesson.CodeExample codeExample = lesson.getCodeExample();
+
+        return new RenderedLesson(moduleId, lessonId, lesson,
+                section(moduleId, lessonId, Section.CONCEPT, lesson.getConcept()),
+                section(moduleId, lessonId, Section.SYNTAX_BREAKDOWN, lesson.getSyntaxBreakdown()),
+                exercise != null ? section(moduleId, lessonId, Section.INSTRUCTIONS, exercise.getInstructions()) : null,
+                exercise != null ? section(moduleId, lessonId, Section.HINT, exercise.getHint()) : null,
+                section(moduleId, lessonId, Section.KEY_TAKEAWAYS, lesson.getKeyTakeaways()),
+                codeExample != null && codeExample.getCode() != null ? PythonLexer.highlight(codeExample.getCode()) : null,
+                overallProgress);
+    }
+
+    /**
+     * Parse and pre-render the solution; call off the FX thread
+     *
+     * @return the rendered solution, or null if the lesson has none
+     */
+    Solution renderSolution() {
+        Lesson.Solution solution = lesson.getSolution();
+        if (solution == null) {
+            return null;
+        }
+        return new Solution(solution,
+                section(moduleId, lessonId, Section.EXPLANATION, solution.getExplanation()),
+                solution.getCode() != null ? PythonLexer.highlight(solution.getCode()) : null);
+    }
+
+    private static Rendered section(int moduleId, int lessonId, Section section, String authored) {
+        return SectionRenderer.lessonSection(moduleId, lessonId, section, authored);
+    }
+}
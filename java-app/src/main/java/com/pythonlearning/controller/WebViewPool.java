@@ -0,0 +1,67 @@
+package com.pythonlearning.controller;
+
+import com.pythonlearning.metrics.Metrics;
+import javafx.scene.web.WebView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounded pool of WebViews recycled across lessons.
+ *
+ * Sections borrow views from the pool and give them back when the lesson is replaced,
+ * so once the pool holds as many views as a lesson uses, navigation creates no new
+ * WebViews (see getCreatedCount). Must only be used on the FX thread.
+ */
+class WebViewPool {
+    private final int maxIdle;
+    private final Deque<WebView> idle = new ArrayDeque<>();
+    private int created;
+
+    WebViewPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Borrow a WebView, creating one only if none is idle
+     */
+    WebView acquire() {
+        WebView webView = idle.pollFirst();
+        if (webView == null) {
+            webView = new WebView();
+            created++;
+            Metrics.WEBVIEWS_CREATED.increment();
+        }
+        return webView;
+    }
+
+    /**
+     * Create idle WebViews ahead of the first lesson, so it does not have to wait for
+     * them to be constructed.
+     */
+    void prewarm(int count) {
+        while (idle.size() < Math.min(count, maxIdle)) {
+            idle.addLast(new WebView());
+            created++;
+            Metrics.WEBVIEWS_CREATED.increment();
+        }
+    }
+
+    /**
+     * Return a WebView to the pool. Its document is cleared so the old lesson's DOM
+     * can be collected; views beyond the pool size are simply dropped.
+     */
+    void release(WebView webView) {
+        webView.getEngine().loadContent("");
+        if (idle.size() < maxIdle) {
+            idle.addFirst(webView);
+        }
+    }
+
+    /**
+     * Total number of WebViews created since startup
+     */
+    int getCreatedCount() {
+        return created;
+    }
+}
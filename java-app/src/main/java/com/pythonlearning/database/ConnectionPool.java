@@ -0,0 +1,149 @@
+package com.pythonlearning.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size pool of SQLite connections to one database file: a set of reader
+ * connections and a single writer connection.
+ *
+ * In WAL mode readers on different connections run in parallel with each other and
+ * with the writer. SQLite allows one writer at a time, and a connection waiting for the
+ * write lock sleeps in its busy handler while holding a pooled connection; queueing
+ * writers for the one writer connection instead keeps them from ever contending inside
+ * SQLite. Every connection keeps its own prepared statement cache, so a statement is
+ * prepared once per connection rather than once per call.
+ */
+class ConnectionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    private final List<Lease> all = new ArrayList<>();
+    private final BlockingQueue<Lease> readers;
+    private final BlockingQueue<Lease> writer = new ArrayBlockingQueue<>(1);
+
+    /**
+     * @param readers number of reader connections (at least one)
+     */
+    ConnectionPool(String dbUrl, PragmaProfile profile, int readers) throws SQLException {
+        this.readers = new ArrayBlockingQueue<>(readers);
+        try {
+            writer.add(open(dbUrl, profile, writer));
+            for (int i = 0; i < readers; i++) {
+                this.readers.add(open(dbUrl, profile, this.readers));
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private Lease open(String dbUrl, PragmaProfile profile, BlockingQueue<Lease> home) throws SQLException {
+        Connection connection = DriverManager.getConnection(dbUrl);
+        Lease lease = new Lease(connection, home);
+        all.add(lease);
+        profile.apply(connection);
+        return lease;
+    }
+
+    /**
+     * Borrow a reader connection; close the lease to give it back
+     */
+    Lease borrow() throws SQLException {
+        return take(readers);
+    }
+
+    /**
+     * Borrow the writer connection, waiting for other writers to finish
+     */
+    Lease borrowWriter() throws SQLException {
+        return take(writer);
+    }
+
+    private static Lease take(BlockingQueue<Lease> queue) throws SQLException {
+        try {
+            Lease lease = queue.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (lease == null) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+            return lease;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * Close every connection; leases still borrowed are closed as well
+     */
+    @Override
+    public void close() {
+        for (Lease lease : all) {
+            lease.closeConnection();
+        }
+        readers.clear();
+        writer.clear();
+    }
+
+    /**
+     * A borrowed connection with its prepared statement cache
+     */
+    final class Lease implements AutoCloseable {
+        private final Connection connection;
+        private final BlockingQueue<Lease> home;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private Lease(Connection connection, BlockingQueue<Lease> home) {
+            this.connection = connection;
+            this.home = home;
+        }
+
+        Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Get the cached prepared statement for a SQL string, preparing it on first use
+         */
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement pstmt = statements.get(sql);
+            if (pstmt == null) {
+                pstmt = connection.prepareStatement(sql);
+                statements.put(sql, pstmt);
+            }
+            return pstmt;
+        }
+
+        /**
+         * Return the connection to the pool
+         */
+        @Override
+        public void close() {
+            home.offer(this);
+        }
+
+        private void closeConnection() {
+            try {
+                for (PreparedStatement pstmt : statements.values()) {
+                    pstmt.close();
+                }
+                statements.clear();
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Error closing pooled connection: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
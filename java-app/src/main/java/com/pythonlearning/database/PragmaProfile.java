@@ -0,0 +1,75 @@
+package com.pythonlearning.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * SQLite tuning profiles applied when the progress database is opened.
+ * Selected with -Dpythonlearning.db.profile=safe|balanced|fast (default: balanced).
+ */
+public enum PragmaProfile {
+    /**
+     * SQLite defaults: rollback journal and an fsync on every commit
+     */
+    SAFE("DELETE", "FULL", 0, -2000, "DEFAULT"),
+
+    /**
+     * Write-ahead log with fsync at checkpoints only; survives application crashes
+     * and loses at most the last commits on power loss
+     */
+    BALANCED("WAL", "NORMAL", 64L * 1024 * 1024, -8000, "MEMORY"),
+
+    /**
+     * No fsync at all; for throwaway databases such as benchmarks and kiosk demos
+     */
+    FAST("WAL", "OFF", 256L * 1024 * 1024, -32000, "MEMORY");
+
+    private static final Logger logger = LoggerFactory.getLogger(PragmaProfile.class);
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private final String journalMode;
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSize;       // negative: KiB, positive: pages
+    private final String tempStore;
+
+    PragmaProfile(String journalMode, String synchronous, long mmapSize, int cacheSize, String tempStore) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.mmapSize = mmapSize;
+        this.cacheSize = cacheSize;
+        this.tempStore = tempStore;
+    }
+
+    /**
+     * Get the profile configured by system property; an unknown name falls back to BALANCED
+     */
+    public static PragmaProfile fromSystemProperty() {
+        String name = System.getProperty("pythonlearning.db.profile", "balanced");
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown database profile '{}', using {}", name, BALANCED);
+            return BALANCED;
+        }
+    }
+
+    /**
+     * Apply this profile to an open connection (must be outside a transaction)
+     */
+    public void apply(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            stmt.execute("PRAGMA journal_mode = " + journalMode);
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.pythonlearning.database;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free in-memory mirror of one learner's completion state.
+ *
+ * Each module's lessons are bits of one long (lesson N is bit N), so a completion check
+ * is a single volatile read and a module's completed count is a Long.bitCount. Quiz best
+ * scores are kept as atomic maxima and passed quizzes as one more bitmap. Module and
+ * lesson IDs must be below {@value #CAPACITY}; the course uses 14 modules of at most
+ * a dozen lessons.
+ */
+final class ProgressBitmap {
+    static final int CAPACITY = Long.SIZE;
+    private static final int NO_SCORE = -1;
+
+    private final AtomicLongArray lessons = new AtomicLongArray(CAPACITY);
+    private final AtomicIntegerArray bestQuizScores = new AtomicIntegerArray(CAPACITY);
+    private final AtomicLong passedQuizzes = new AtomicLong();
+
+    ProgressBitmap() {
+        clear();
+    }
+
+    /**
+     * Check whether a lesson can be represented in the bitmap
+     */
+    static boolean fits(int moduleId, int lessonId) {
+        return moduleId >= 0 && moduleId < CAPACITY && lessonId >= 0 && lessonId < CAPACITY;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the lesson cannot be represented
+     */
+    static void checkLesson(int moduleId, int lessonId) {
+        if (!fits(moduleId, lessonId)) {
+            throw new IllegalArgumentException("Lesson out of range: Module " + moduleId + " Lesson " + lessonId);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the module cannot be represented
+     */
+    static void checkModule(int moduleId) {
+        if (moduleId < 0 || moduleId >= CAPACITY) {
+            throw new IllegalArgumentException("Module out of range: " + moduleId);
+        }
+    }
+
+    /**
+     * Set a lesson's bit
+     *
+     * @return true if the lesson was not complete before
+     */
+    boolean markLesson(int moduleId, int lessonId) {
+        long bit = 1L << lessonId;
+        return (lessons.getAndAccumulate(moduleId, bit, (bits, mask) -> bits | mask) & bit) == 0;
+    }
+
+    boolean isLessonComplete(int moduleId, int lessonId) {
+        return (lessons.get(moduleId) & (1L << lessonId)) != 0;
+    }
+
+    int completedLessons(int moduleId) {
+        return Long.bitCount(lessons.get(moduleId));
+    }
+
+    int completedLessons() {
+        int total = 0;
+        for (int module = 0; module < CAPACITY; module++) {
+            total += Long.bitCount(lessons.get(module));
+        }
+        return total;
+    }
+
+    /**
+     * Record a quiz percentage, keeping the best one
+     */
+    void recordQuiz(int moduleId, int percentage, boolean passed) {
+        bestQuizScores.accumulateAndGet(moduleId, percentage, Math::max);
+        if (passed) {
+            passedQuizzes.getAndAccumulate(1L << moduleId, (bits, mask) -> bits | mask);
+        }
+    }
+
+    /**
+     * @return best percentage, or -1 if the quiz was never attempted
+     */
+    int bestQuizScore(int moduleId) {
+        return bestQuizScores.get(moduleId);
+    }
+
+    boolean isQuizPassed(int moduleId) {
+        return (passedQuizzes.get() & (1L << moduleId)) != 0;
+    }
+
+    void clear() {
+        for (int module = 0; module < CAPACITY; module++) {
+            lessons.set(module, 0);
+            bestQuizScores.set(module, NO_SCORE);
+        }
+        passedQuizzes.set(0);
+    }
+}
@@ -1,336 +1,443 @@
 package com.pythonlearning.database;
 
+import com.pythonlearning.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
- * SQLite database for tracking user progress through the course.
- * Stores lesson completion, quiz scores, and timestamps.
+ * SQLite database for tracking the progress of every learner on this machine.
+ * Stores lesson completion, quiz scores, and timestamps per learner.
+ *
+ * The database is shared: it owns a pool of connections and hands out one
+ * {@link ProgressStore} per learner profile. Stores of different learners run on
+ * separate connections, so shared lab machines and kiosks can serve many profiles
+ * concurrently.
+ *
+ * Opened from system properties with {@link #open()}:
+ * -Dpythonlearning.db.path (default python_learning_progress.db),
+ * -Dpythonlearning.db.profile (see {@link PragmaProfile}),
+ * -Dpythonlearning.db.poolSize (default {@value #DEFAULT_POOL_SIZE}) and
+ * -Dpythonlearning.db.writeBehindMs (write-behind flush interval, default 0: write through).
  */
-public class ProgressDatabase {
+public final class ProgressDatabase implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(ProgressDatabase.class);
     private static final String DB_NAME = "python_learning_progress.db";
-    private static final String DB_URL = "jdbc:sqlite:" + DB_NAME;
+    private static final int SCHEMA_VERSION = 3;    // stored in PRAGMA user_version
+    public static final int DEFAULT_POOL_SIZE = 4;
 
-    private static ProgressDatabase instance;
-    private Connection connection;
+    /**
+     * Learner that owns progress recorded before learner profiles existed
+     */
+    public static final String DEFAULT_LEARNER = "default";
+
+    private final String dbUrl;
+    private final PragmaProfile profile;
+    private final long flushIntervalMs;
+    private ConnectionPool pool;
+    private SolutionOutputStore solutionOutputs;
+
+    private final ConcurrentMap<String, ProgressStore> learners = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
 
     /**
-     * Private constructor for singleton pattern
+     * One graded quiz attempt of a learner, for {@link #recordQuizAttempts(List)}
      */
-    private ProgressDatabase() {
-        initializeDatabase();
+    public record QuizAttempt(String learner, int moduleId, int score, int totalQuestions) {}
+
+    /**
+     * Open a write-through progress database file with the given tuning profile
+     * (used by tools and benchmarks)
+     */
+    public ProgressDatabase(Path dbFile, PragmaProfile profile) {
+        this(dbFile, profile, 0, DEFAULT_POOL_SIZE);
     }
 
     /**
-     * Get singleton instance
+     * Open a progress database file
+     *
+     * @param flushIntervalMs write-behind flush interval, or 0 to write every change through
+     * @param poolSize number of pooled reader connections, at least one (writes share one
+     *                 more connection)
      */
-    public static synchronized ProgressDatabase getInstance() {
-        if (instance == null) {
-            instance = new ProgressDatabase();
+    public ProgressDatabase(Path dbFile, PragmaProfile profile, long flushIntervalMs, int poolSize) {
+        this.dbUrl = "jdbc:sqlite:" + dbFile;
+        this.profile = profile;
+        this.flushIntervalMs = flushIntervalMs;
+        initializeDatabase(poolSize);
+
+        if (flushIntervalMs > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "progress-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
         }
-        return instance;
     }
 
     /**
-     * Initialize the database and create tables if they don't exist
+     * Open the application's progress database as configured by system properties
+     */
+    public static ProgressDatabase open() {
+        return new ProgressDatabase(
+                Path.of(System.getProperty("pythonlearning.db.path", DB_NAME)),
+                PragmaProfile.fromSystemProperty(),
+                Long.getLong("pythonlearning.db.writeBehindMs", 0),
+                Math.max(1, Integer.getInteger("pythonlearning.db.poolSize", DEFAULT_POOL_SIZE)));
+    }
+
+    /**
+     * Initialize the connection pool and create or upgrade the schema
+     *
+     * @throws IllegalStateException if the database cannot be opened or migrated
      */
-    private void initializeDatabase() {
+    private void initializeDatabase(int poolSize) {
         try {
-            // Create connection
-            connection = DriverManager.getConnection(DB_URL);
-
-            // Create tables
-            String createLessonProgressTable = """
-                CREATE TABLE IF NOT EXISTS lesson_progress (
-                    module_id INTEGER NOT NULL,
-                    lesson_id INTEGER NOT NULL,
-                    completed BOOLEAN DEFAULT 0,
-                    completed_at TIMESTAMP,
-                    attempts INTEGER DEFAULT 0,
-                    PRIMARY KEY (module_id, lesson_id)
-                )
-            """;
-
-            String createQuizProgressTable = """
-                CREATE TABLE IF NOT EXISTS quiz_progress (
-                    module_id INTEGER PRIMARY KEY,
-                    completed BOOLEAN DEFAULT 0,
-                    score INTEGER DEFAULT 0,
-                    total_questions INTEGER,
-                    percentage INTEGER,
-                    attempts INTEGER DEFAULT 0,
-                    best_score INTEGER DEFAULT 0,
-                    last_attempt TIMESTAMP
-                )
-            """;
-
-            String createUserStatsTable = """
-                CREATE TABLE IF NOT EXISTS user_stats (
-                    id INTEGER PRIMARY KEY CHECK (id = 1),
-                    total_lessons_completed INTEGER DEFAULT 0,
-                    total_quizzes_completed INTEGER DEFAULT 0,
-                    started_at TIMESTAMP,
-                    last_activity TIMESTAMP
-                )
-            """;
-
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute(createLessonProgressTable);
-                stmt.execute(createQuizProgressTable);
-                stmt.execute(createUserStatsTable);
-
-                // Initialize user stats if not exists
-                String initStats = """
-                    INSERT OR IGNORE INTO user_stats (id, started_at, last_activity)
-                    VALUES (1, ?, ?)
-                """;
-                try (PreparedStatement pstmt = connection.prepareStatement(initStats)) {
-                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-                    pstmt.setTimestamp(1, now);
-                    pstmt.setTimestamp(2, now);
-                    pstmt.executeUpdate();
-                }
+            pool = new ConnectionPool(dbUrl, profile, poolSize);
+
+            try (ConnectionPool.Lease lease = pool.borrowWriter();
+                 Statement stmt = lease.connection().createStatement()) {
+                migrateSchema(lease.connection(), stmt);
             }
+            solutionOutputs = new SolutionOutputStore(pool);
 
-            logger.info("Database initialized successfully");
+            logger.info("Database initialized successfully ({} profile, {} reader connections)", profile, poolSize);
 
         } catch (SQLException e) {
             logger.error("Error initializing database: {}", e.getMessage(), e);
+            if (pool != null) {
+                pool.close();
+            }
+            throw new IllegalStateException("Cannot open progress database " + dbUrl, e);
         }
     }
 
     /**
-     * Mark a lesson as completed
+     * Bring the schema to the current version in one transaction.
+     *
+     * Databases from before learner profiles (version 0 or 1) keep their progress:
+     * the old tables are renamed, the learner-scoped tables are created, and every
+     * row is copied to the {@value #DEFAULT_LEARNER} learner. Version 2 databases are
+     * already learner-scoped and only gain the solution output cache of version 3.
      */
-    public void markLessonComplete(int moduleId, int lessonId) {
-        String sql = """
-            INSERT INTO lesson_progress (module_id, lesson_id, completed, completed_at, attempts)
-            VALUES (?, ?, 1, ?, 1)
-            ON CONFLICT(module_id, lesson_id) DO UPDATE SET
-                completed = 1,
-                completed_at = ?,
-                attempts = attempts + 1
-        """;
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-            pstmt.setInt(1, moduleId);
-            pstmt.setInt(2, lessonId);
-            pstmt.setTimestamp(3, now);
-            pstmt.setTimestamp(4, now);
-            pstmt.executeUpdate();
-
-            updateUserStats();
-            logger.info("Marked lesson complete: Module {} Lesson {}", moduleId, lessonId);
-
-        } catch (SQLException e) {
-            logger.error("Error marking lesson complete: {}", e.getMessage(), e);
+    private void migrateSchema(Connection connection, Statement stmt) throws SQLException {
+        int version;
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            version = rs.next() ? rs.getInt(1) : 0;
+        }
+        if (version >= SCHEMA_VERSION) {
+            return;
         }
-    }
 
-    /**
-     * Check if a lesson is completed
-     */
-    public boolean isLessonComplete(int moduleId, int lessonId) {
-        String sql = "SELECT completed FROM lesson_progress WHERE module_id = ? AND lesson_id = ?";
+        boolean legacy = false;
+        if (version < 2) {
+            try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'lesson_progress'")) {
+                legacy = rs.next();
+            }
+        }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, moduleId);
-            pstmt.setInt(2, lessonId);
+        connection.setAutoCommit(false);
+        try {
+            if (legacy) {
+                // Version 1 indexes and triggers have the names used below
+                for (String trigger : new String[] {"lesson_completed_insert", "lesson_completed_update",
+                        "quiz_completed_insert", "quiz_completed_update"}) {
+                    stmt.execute("DROP TRIGGER IF EXISTS " + trigger);
+                }
+                stmt.execute("DROP INDEX IF EXISTS idx_lesson_progress_completed");
+                stmt.execute("DROP INDEX IF EXISTS idx_quiz_progress_completed");
+                stmt.execute("ALTER TABLE lesson_progress RENAME TO legacy_lesson_progress");
+                stmt.execute("ALTER TABLE quiz_progress RENAME TO legacy_quiz_progress");
+                stmt.execute("ALTER TABLE user_stats RENAME TO legacy_user_stats");
+            }
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getBoolean("completed");
+            createSchema(stmt);
+
+            if (legacy) {
+                int learnerId = registerLearner(connection, DEFAULT_LEARNER);
+                stmt.execute("""
+                    INSERT INTO lesson_progress (learner_id, module_id, lesson_id, completed, completed_at, attempts)
+                    SELECT %d, module_id, lesson_id, completed, completed_at, attempts FROM legacy_lesson_progress
+                """.formatted(learnerId));
+                stmt.execute("""
+                    INSERT INTO quiz_progress (learner_id, module_id, completed, score, total_questions, percentage, attempts, best_score, last_attempt)
+                    SELECT %d, module_id, completed, score, total_questions, percentage, attempts, best_score, last_attempt
+                    FROM legacy_quiz_progress
+                """.formatted(learnerId));
+                stmt.execute("""
+                    UPDATE user_stats SET
+                        started_at = (SELECT started_at FROM legacy_user_stats WHERE id = 1),
+                        last_activity = (SELECT last_activity FROM legacy_user_stats WHERE id = 1),
+                        total_lessons_completed = (SELECT COUNT(*) FROM lesson_progress WHERE learner_id = %1$d AND completed = 1),
+                        total_quizzes_completed = (SELECT COUNT(*) FROM quiz_progress WHERE learner_id = %1$d AND completed = 1)
+                    WHERE learner_id = %1$d
+                """.formatted(learnerId));
+                stmt.execute("DROP TABLE legacy_lesson_progress");
+                stmt.execute("DROP TABLE legacy_quiz_progress");
+                stmt.execute("DROP TABLE legacy_user_stats");
             }
+
+            stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
+            connection.commit();
+
+            logger.info("Migrated progress database from schema version {} to {}", version, SCHEMA_VERSION);
         } catch (SQLException e) {
-            logger.error("Error checking lesson completion: {}", e.getMessage(), e);
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
         }
-
-        return false;
     }
 
     /**
-     * Record a quiz attempt
+     * Create the learner-scoped tables and the shared solution output cache.
+     *
+     * Progress tables are clustered by learner (WITHOUT ROWID, learner first in the key)
+     * so one learner's rows are read as a single range however many learners share the
+     * file. Indexes on (learner_id, module_id, completed) answer per-module counts from
+     * the index alone, and triggers keep the user_stats totals current on the first
+     * completion of a lesson or quiz instead of recounting on every write. There are no
+     * delete triggers: resetProgress zeroes the totals itself.
      */
-    public void recordQuizAttempt(int moduleId, int score, int totalQuestions) {
-        int percentage = (int) Math.round((double) score / totalQuestions * 100);
-        boolean passed = percentage >= 70;
-
-        String sql = """
-            INSERT INTO quiz_progress (module_id, completed, score, total_questions, percentage, attempts, best_score, last_attempt)
-            VALUES (?, ?, ?, ?, ?, 1, ?, ?)
-            ON CONFLICT(module_id) DO UPDATE SET
-                completed = CASE WHEN ? = 1 THEN 1 ELSE completed END,
-                score = ?,
-                percentage = ?,
-                attempts = attempts + 1,
-                best_score = MAX(best_score, ?),
-                last_attempt = ?
-        """;
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-
-            pstmt.setInt(1, moduleId);
-            pstmt.setBoolean(2, passed);
-            pstmt.setInt(3, score);
-            pstmt.setInt(4, totalQuestions);
-            pstmt.setInt(5, percentage);
-            pstmt.setInt(6, percentage);
-            pstmt.setTimestamp(7, now);
-            pstmt.setBoolean(8, passed);
-            pstmt.setInt(9, score);
-            pstmt.setInt(10, percentage);
-            pstmt.setInt(11, percentage);
-            pstmt.setTimestamp(12, now);
-
-            pstmt.executeUpdate();
-            updateUserStats();
-
-            logger.info("Recorded quiz attempt: Module {} - Score: {}/{} ({}%)",
-                    moduleId, score, totalQuestions, percentage);
-
-        } catch (SQLException e) {
-            logger.error("Error recording quiz attempt: {}", e.getMessage(), e);
-        }
+    private static void createSchema(Statement stmt) throws SQLException {
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS learners (
+                id INTEGER PRIMARY KEY,
+                name TEXT NOT NULL UNIQUE,
+                created_at TIMESTAMP
+            )
+        """);
+
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS lesson_progress (
+                learner_id INTEGER NOT NULL REFERENCES learners (id),
+                module_id INTEGER NOT NULL,
+                lesson_id INTEGER NOT NULL,
+                completed BOOLEAN DEFAULT 0,
+                completed_at TIMESTAMP,
+                attempts INTEGER DEFAULT 0,
+                PRIMARY KEY (learner_id, module_id, lesson_id)
+            ) WITHOUT ROWID
+        """);
+
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS quiz_progress (
+                learner_id INTEGER NOT NULL REFERENCES learners (id),
+                module_id INTEGER NOT NULL,
+                completed BOOLEAN DEFAULT 0,
+                score INTEGER DEFAULT 0,
+                total_questions INTEGER,
+                percentage INTEGER,
+                attempts INTEGER DEFAULT 0,
+                best_score INTEGER DEFAULT 0,
+                last_attempt TIMESTAMP,
+                PRIMARY KEY (learner_id, module_id)
+            ) WITHOUT ROWID
+        """);
+
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS user_stats (
+                learner_id INTEGER PRIMARY KEY REFERENCES learners (id),
+                total_lessons_completed INTEGER DEFAULT 0,
+                total_quizzes_completed INTEGER DEFAULT 0,
+                started_at TIMESTAMP,
+                last_activity TIMESTAMP
+            )
+        """);
+
+        // Shared by all learners, see SolutionOutputStore
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS solution_outputs (
+                code_hash TEXT NOT NULL,
+                input_hash TEXT NOT NULL,
+                python_version TEXT NOT NULL,
+                succeeded BOOLEAN NOT NULL,
+                stdout TEXT NOT NULL,
+                created_at TIMESTAMP,
+                PRIMARY KEY (code_hash, input_hash, python_version)
+            ) WITHOUT ROWID
+        """);
+
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_lesson_progress_completed ON lesson_progress (learner_id, module_id, completed)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_quiz_progress_completed ON quiz_progress (learner_id, module_id, completed)");
+
+        stmt.execute("""
+            CREATE TRIGGER IF NOT EXISTS lesson_completed_insert AFTER INSERT ON lesson_progress
+            WHEN NEW.completed = 1
+            BEGIN
+                UPDATE user_stats SET total_lessons_completed = total_lessons_completed + 1
+                WHERE learner_id = NEW.learner_id;
+            END
+        """);
+        stmt.execute("""
+            CREATE TRIGGER IF NOT EXISTS lesson_completed_update AFTER UPDATE OF completed ON lesson_progress
+            WHEN NEW.completed = 1 AND OLD.completed IS NOT 1
+            BEGIN
+                UPDATE user_stats SET total_lessons_completed = total_lessons_completed + 1
+                WHERE learner_id = NEW.learner_id;
+            END
+        """);
+        stmt.execute("""
+            CREATE TRIGGER IF NOT EXISTS quiz_completed_insert AFTER INSERT ON quiz_progress
+            WHEN NEW.completed = 1
+            BEGIN
+                UPDATE user_stats SET total_quizzes_completed = total_quizzes_completed + 1
+                WHERE learner_id = NEW.learner_id;
+            END
+        """);
+        stmt.execute("""
+            CREATE TRIGGER IF NOT EXISTS quiz_completed_update AFTER UPDATE OF completed ON quiz_progress
+            WHEN NEW.completed = 1 AND OLD.completed IS NOT 1
+            BEGIN
+                UPDATE user_stats SET total_quizzes_completed = total_quizzes_completed + 1
+                WHERE learner_id = NEW.learner_id;
+            END
+        """);
     }
 
     /**
-     * Get module progress (percentage of lessons completed)
+     * Create a learner and its statistics row if they don't exist, returning the learner ID
      */
-    public int getModuleProgress(int moduleId, int totalLessons) {
-        String sql = "SELECT COUNT(*) as completed FROM lesson_progress WHERE module_id = ? AND completed = 1";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, moduleId);
+    private static int registerLearner(Connection connection, String name) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT OR IGNORE INTO learners (name, created_at) VALUES (?, ?)")) {
+            insert.setString(1, name);
+            insert.setTimestamp(2, now);
+            insert.executeUpdate();
+        }
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                int completed = rs.getInt("completed");
-                return (int) Math.round((double) completed / totalLessons * 100);
+        int learnerId;
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM learners WHERE name = ?")) {
+            select.setString(1, name);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Learner was not created: " + name);
+                }
+                learnerId = rs.getInt(1);
             }
-        } catch (SQLException e) {
-            logger.error("Error getting module progress: {}", e.getMessage(), e);
         }
 
-        return 0;
+        try (PreparedStatement stats = connection.prepareStatement(
+                "INSERT OR IGNORE INTO user_stats (learner_id, started_at, last_activity) VALUES (?, ?, ?)")) {
+            stats.setInt(1, learnerId);
+            stats.setTimestamp(2, now);
+            stats.setTimestamp(3, now);
+            stats.executeUpdate();
+        }
+
+        return learnerId;
     }
 
     /**
-     * Get overall course progress
+     * Get the progress store of a learner, creating the profile on first use
+     *
+     * @throws IllegalStateException if the profile cannot be created
      */
-    public int getOverallProgress(int totalLessons) {
-        String sql = "SELECT COUNT(*) as completed FROM lesson_progress WHERE completed = 1";
-
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                int completed = rs.getInt("completed");
-                return (int) Math.round((double) completed / totalLessons * 100);
+    public ProgressStore learner(String name) {
+        return learners.computeIfAbsent(name, learnerName -> {
+            try (ConnectionPool.Lease lease = pool.borrowWriter()) {
+                int learnerId = registerLearner(lease.connection(), learnerName);
+                ProgressStore store = new ProgressStore(pool, learnerId, learnerName, flushIntervalMs);
+                long start = System.nanoTime();
+                store.loadBitmap(lease);
+                Metrics.DB_READ.recordSince(start);
+                logger.info("Opened progress for learner {} (id {})", learnerName, learnerId);
+                return store;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Cannot open progress for learner " + learnerName, e);
             }
-        } catch (SQLException e) {
-            logger.error("Error getting overall progress: {}", e.getMessage(), e);
-        }
-
-        return 0;
+        });
     }
 
     /**
-     * Get all progress data for display
+     * Get the progress store of the learner selected with -Dpythonlearning.learner
+     * (default {@value #DEFAULT_LEARNER})
      */
-    public Map<String, Object> getAllProgressData() {
-        Map<String, Object> data = new HashMap<>();
+    public ProgressStore defaultLearner() {
+        return learner(System.getProperty("pythonlearning.learner", DEFAULT_LEARNER));
+    }
 
-        try {
-            // Get user stats
-            String statsSql = "SELECT * FROM user_stats WHERE id = 1";
-            try (Statement stmt = connection.createStatement()) {
-                ResultSet rs = stmt.executeQuery(statsSql);
-                if (rs.next()) {
-                    data.put("totalLessonsCompleted", rs.getInt("total_lessons_completed"));
-                    data.put("totalQuizzesCompleted", rs.getInt("total_quizzes_completed"));
-                    data.put("startedAt", rs.getTimestamp("started_at"));
-                    data.put("lastActivity", rs.getTimestamp("last_activity"));
-                }
-            }
+    /**
+     * Cache of reference solution outputs, shared by all learners
+     */
+    public SolutionOutputStore solutionOutputs() {
+        return solutionOutputs;
+    }
 
-            // Get lesson completion count
-            String lessonSql = "SELECT COUNT(*) as count FROM lesson_progress WHERE completed = 1";
-            try (Statement stmt = connection.createStatement()) {
-                ResultSet rs = stmt.executeQuery(lessonSql);
-                if (rs.next()) {
-                    data.put("completedLessons", rs.getInt("count"));
+    /**
+     * Record the quiz attempts of many learners (e.g. a graded cohort) in one transaction.
+     * Learner profiles are created as needed; on failure nothing is recorded.
+     */
+    public void recordQuizAttempts(List<QuizAttempt> attempts) {
+        Map<ProgressStore, List<QuizAttempt>> byLearner = new LinkedHashMap<>();
+        for (QuizAttempt attempt : attempts) {
+            byLearner.computeIfAbsent(learner(attempt.learner()), store -> new ArrayList<>()).add(attempt);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long start = System.nanoTime();
+        try (ConnectionPool.Lease lease = pool.borrowWriter()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<ProgressStore, List<QuizAttempt>> entry : byLearner.entrySet()) {
+                    entry.getKey().writeQuizAttempts(lease, entry.getValue(), now);
                 }
+                connection.commit();
+                Metrics.DB_WRITE.recordSince(start);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
 
-            // Get quiz completion count
-            String quizSql = "SELECT COUNT(*) as count FROM quiz_progress WHERE completed = 1";
-            try (Statement stmt = connection.createStatement()) {
-                ResultSet rs = stmt.executeQuery(quizSql);
-                if (rs.next()) {
-                    data.put("completedQuizzes", rs.getInt("count"));
-                }
-            }
+            // Mirror the committed attempts in each learner's bitmap
+            byLearner.forEach(ProgressStore::applyQuizAttempts);
+            logger.info("Recorded {} quiz attempts for {} learners", attempts.size(), byLearner.size());
 
         } catch (SQLException e) {
-            logger.error("Error getting progress data: {}", e.getMessage(), e);
+            logger.error("Error recording quiz attempts: {}", e.getMessage(), e);
         }
-
-        return data;
     }
 
     /**
-     * Update user statistics
+     * Commit the queued progress of every learner
      */
-    private void updateUserStats() {
-        String sql = """
-            UPDATE user_stats SET
-                total_lessons_completed = (SELECT COUNT(*) FROM lesson_progress WHERE completed = 1),
-                total_quizzes_completed = (SELECT COUNT(*) FROM quiz_progress WHERE completed = 1),
-                last_activity = ?
-            WHERE id = 1
-        """;
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.error("Error updating user stats: {}", e.getMessage(), e);
+    public void flush() {
+        for (ProgressStore store : learners.values()) {
+            store.flush();
         }
     }
 
     /**
-     * Reset all progress (for testing or starting fresh)
+     * Flush queued progress and close all pooled connections
      */
-    public void resetProgress() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("DELETE FROM lesson_progress");
-            stmt.execute("DELETE FROM quiz_progress");
-            stmt.execute("UPDATE user_stats SET total_lessons_completed = 0, total_quizzes_completed = 0");
-
-            logger.info("Progress reset successfully");
-        } catch (SQLException e) {
-            logger.error("Error resetting progress: {}", e.getMessage(), e);
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
         }
-    }
+        flush();
 
-    /**
-     * Close database connection
-     */
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                logger.info("Database connection closed");
-            }
-        } catch (SQLException e) {
-            logger.error("Error closing database connection: {}", e.getMessage(), e);
+        if (pool != null) {
+            pool.close();
+            logger.info("Database connections closed");
         }
     }
 }
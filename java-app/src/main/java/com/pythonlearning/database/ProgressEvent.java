@@ -0,0 +1,13 @@
+package com.pythonlearning.database;
+
+import java.sql.Timestamp;
+
+/**
+ * A progress change waiting in the write-behind queue of a {@link ProgressStore}
+ */
+sealed interface ProgressEvent {
+
+    record LessonCompleted(int moduleId, int lessonId, Timestamp at) implements ProgressEvent {}
+
+    record QuizAttempt(int moduleId, int score, int totalQuestions, Timestamp at) implements ProgressEvent {}
+}
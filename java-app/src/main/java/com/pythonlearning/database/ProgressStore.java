@@ -0,0 +1,435 @@
+package com.pythonlearning.database;
+
+import com.pythonlearning.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of one learner: lesson completion, quiz scores, and timestamps.
+ * Obtained from {@link ProgressDatabase#learner(String)} and injected into the UI.
+ *
+ * Completion state is mirrored in a lock-free {@link ProgressBitmap}, loaded once when
+ * the learner is opened and updated on every write, so completion checks and progress
+ * percentages never touch SQLite. Writes are synchronized per learner, so different
+ * learners write in parallel while the changes of one learner stay ordered.
+ *
+ * In write-behind mode progress changes are queued in memory and committed in one
+ * transaction when the database's flush interval elapses, the queue reaches
+ * {@value #FLUSH_THRESHOLD} events, or the database is closed. Reads see queued changes,
+ * and a crash loses at most one interval of events. While flushes keep failing the queue
+ * holds at most {@value #MAX_PENDING_EVENTS} events; further changes are rejected (and
+ * logged) rather than queued. Otherwise each change is committed right away, together
+ * with its stats update in one transaction.
+ */
+public class ProgressStore {
+    private static final Logger logger = LoggerFactory.getLogger(ProgressStore.class);
+    private static final int FLUSH_THRESHOLD = 32;
+    private static final int MAX_PENDING_EVENTS = 8 * FLUSH_THRESHOLD;
+    private static final int PASSING_PERCENTAGE = 70;
+
+    private final ConnectionPool pool;
+    private final int learnerId;
+    private final String learnerName;
+
+    // Serves all reads; includes queued write-behind changes
+    private final ProgressBitmap bitmap = new ProgressBitmap();
+
+    // Write-behind queue; flushIntervalMs == 0 means every change is written through
+    private final long flushIntervalMs;
+    private final List<ProgressEvent> pendingEvents = new ArrayList<>();
+
+    ProgressStore(ConnectionPool pool, int learnerId, String learnerName, long flushIntervalMs) {
+        this.pool = pool;
+        this.learnerId = learnerId;
+        this.learnerName = learnerName;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public int getLearnerId() {
+        return learnerId;
+    }
+
+    public String getLearnerName() {
+        return learnerName;
+    }
+
+    /**
+     * Load the bitmap from the progress tables (once, when the learner is opened)
+     */
+    void loadBitmap(ConnectionPool.Lease lease) throws SQLException {
+        PreparedStatement lessons = lease.prepare(
+                "SELECT module_id, lesson_id FROM lesson_progress WHERE learner_id = ? AND completed = 1");
+        lessons.setInt(1, learnerId);
+        try (ResultSet rs = lessons.executeQuery()) {
+            while (rs.next()) {
+                int moduleId = rs.getInt("module_id");
+                int lessonId = rs.getInt("lesson_id");
+                if (ProgressBitmap.fits(moduleId, lessonId)) {
+                    bitmap.markLesson(moduleId, lessonId);
+                } else {
+                    logger.warn("Ignoring progress outside the course: Module {} Lesson {}", moduleId, lessonId);
+                }
+            }
+        }
+
+        PreparedStatement quizzes = lease.prepare(
+                "SELECT module_id, completed, best_score FROM quiz_progress WHERE learner_id = ?");
+        quizzes.setInt(1, learnerId);
+        try (ResultSet rs = quizzes.executeQuery()) {
+            while (rs.next()) {
+                int moduleId = rs.getInt("module_id");
+                if (ProgressBitmap.fits(moduleId, 0)) {
+                    bitmap.recordQuiz(moduleId, rs.getInt("best_score"), rs.getBoolean("completed"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark a lesson as completed
+     */
+    public synchronized void markLessonComplete(int moduleId, int lessonId) {
+        ProgressBitmap.checkLesson(moduleId, lessonId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            write(new ProgressEvent.LessonCompleted(moduleId, lessonId, now));
+
+            bitmap.markLesson(moduleId, lessonId);
+            logger.info("Marked lesson complete: Module {} Lesson {}", moduleId, lessonId);
+
+        } catch (SQLException e) {
+            logger.error("Error marking lesson complete: {}", e.getMessage(), e);
+        }
+    }
+
+    private void writeLessonComplete(ConnectionPool.Lease lease, int moduleId, int lessonId, Timestamp at) throws SQLException {
+        String sql = """
+            INSERT INTO lesson_progress (learner_id, module_id, lesson_id, completed, completed_at, attempts)
+            VALUES (?, ?, ?, 1, ?, 1)
+            ON CONFLICT(learner_id, module_id, lesson_id) DO UPDATE SET
+                completed = 1,
+                completed_at = ?,
+                attempts = attempts + 1
+        """;
+
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setInt(1, learnerId);
+        pstmt.setInt(2, moduleId);
+        pstmt.setInt(3, lessonId);
+        pstmt.setTimestamp(4, at);
+        pstmt.setTimestamp(5, at);
+        pstmt.executeUpdate();
+    }
+
+    /**
+     * Check if a lesson is completed
+     */
+    public boolean isLessonComplete(int moduleId, int lessonId) {
+        return ProgressBitmap.fits(moduleId, lessonId) && bitmap.isLessonComplete(moduleId, lessonId);
+    }
+
+    /**
+     * Record a quiz attempt
+     */
+    public synchronized void recordQuizAttempt(int moduleId, int score, int totalQuestions) {
+        ProgressBitmap.checkModule(moduleId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            write(new ProgressEvent.QuizAttempt(moduleId, score, totalQuestions, now));
+
+            int percentage = percentage(score, totalQuestions);
+            bitmap.recordQuiz(moduleId, percentage, percentage >= PASSING_PERCENTAGE);
+            logger.info("Recorded quiz attempt: Module {} - Score: {}/{}", moduleId, score, totalQuestions);
+
+        } catch (SQLException e) {
+            logger.error("Error recording quiz attempt: {}", e.getMessage(), e);
+        }
+    }
+
+    private void writeQuizAttempt(ConnectionPool.Lease lease, int moduleId, int score, int totalQuestions,
+                                  Timestamp at) throws SQLException {
+        int percentage = percentage(score, totalQuestions);
+        boolean passed = percentage >= PASSING_PERCENTAGE;
+
+        String sql = """
+            INSERT INTO quiz_progress (learner_id, module_id, completed, score, total_questions, percentage, attempts, best_score, last_attempt)
+            VALUES (?, ?, ?, ?, ?, ?, 1, ?, ?)
+            ON CONFLICT(learner_id, module_id) DO UPDATE SET
+                completed = CASE WHEN ? = 1 THEN 1 ELSE completed END,
+                score = ?,
+                percentage = ?,
+                attempts = attempts + 1,
+                best_score = MAX(best_score, ?),
+                last_attempt = ?
+        """;
+
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setInt(1, learnerId);
+        pstmt.setInt(2, moduleId);
+        pstmt.setBoolean(3, passed);
+        pstmt.setInt(4, score);
+        pstmt.setInt(5, totalQuestions);
+        pstmt.setInt(6, percentage);
+        pstmt.setInt(7, percentage);
+        pstmt.setTimestamp(8, at);
+        pstmt.setBoolean(9, passed);
+        pstmt.setInt(10, score);
+        pstmt.setInt(11, percentage);
+        pstmt.setInt(12, percentage);
+        pstmt.setTimestamp(13, at);
+        pstmt.executeUpdate();
+    }
+
+    /**
+     * Write a batch of quiz attempts on a connection whose transaction the caller owns.
+     * Not synchronized: the database's batch path holds the writer connection, and taking
+     * the learner's lock there could deadlock against a learner write waiting for it.
+     */
+    void writeQuizAttempts(ConnectionPool.Lease lease, List<ProgressDatabase.QuizAttempt> attempts,
+                           Timestamp at) throws SQLException {
+        for (ProgressDatabase.QuizAttempt attempt : attempts) {
+            ProgressBitmap.checkModule(attempt.moduleId());
+            writeQuizAttempt(lease, attempt.moduleId(), attempt.score(), attempt.totalQuestions(), at);
+        }
+        updateUserStats(lease);
+    }
+
+    /**
+     * Mirror committed quiz attempts in the bitmap
+     */
+    void applyQuizAttempts(List<ProgressDatabase.QuizAttempt> attempts) {
+        for (ProgressDatabase.QuizAttempt attempt : attempts) {
+            int percentage = percentage(attempt.score(), attempt.totalQuestions());
+            bitmap.recordQuiz(attempt.moduleId(), percentage, percentage >= PASSING_PERCENTAGE);
+        }
+    }
+
+    private static int percentage(int score, int totalQuestions) {
+        return (int) Math.round((double) score / totalQuestions * 100);
+    }
+
+    /**
+     * Get the best percentage scored on a module's quiz, or -1 if it was never attempted
+     */
+    public int getQuizBestScore(int moduleId) {
+        ProgressBitmap.checkModule(moduleId);
+        return bitmap.bestQuizScore(moduleId);
+    }
+
+    /**
+     * Check if a module's quiz has been passed
+     */
+    public boolean isQuizPassed(int moduleId) {
+        ProgressBitmap.checkModule(moduleId);
+        return bitmap.isQuizPassed(moduleId);
+    }
+
+    /**
+     * Queue a progress event, flushing immediately once the batch is full
+     *
+     * @throws SQLException if the queue is full and cannot be flushed
+     */
+    private void enqueue(ProgressEvent event) throws SQLException {
+        if (pendingEvents.size() >= MAX_PENDING_EVENTS) {
+            flush();
+            if (pendingEvents.size() >= MAX_PENDING_EVENTS) {
+                throw new SQLException("Progress queue of learner " + learnerName + " is full ("
+                        + MAX_PENDING_EVENTS + " events) and cannot be flushed");
+            }
+        }
+        pendingEvents.add(event);
+        Metrics.PROGRESS_EVENTS.increment();
+        if (pendingEvents.size() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Commit all queued progress events in a single transaction.
+     * On failure the events stay queued and are retried on the next flush.
+     */
+    public synchronized void flush() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+
+        try (ConnectionPool.Lease lease = pool.borrowWriter()) {
+            flush(lease);
+        } catch (SQLException e) {
+            logger.error("Error flushing progress, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flush(ConnectionPool.Lease lease) {
+        try {
+            commit(lease, pendingEvents);
+            logger.debug("Flushed {} progress events for learner {}", pendingEvents.size(), learnerName);
+            pendingEvents.clear();
+        } catch (SQLException e) {
+            logger.error("Error flushing progress, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queue a change in write-behind mode, otherwise commit it right away
+     */
+    private void write(ProgressEvent event) throws SQLException {
+        if (flushIntervalMs > 0) {
+            enqueue(event);
+            return;
+        }
+        try (ConnectionPool.Lease lease = pool.borrowWriter()) {
+            commit(lease, List.of(event));
+        }
+    }
+
+    /**
+     * Write events and the stats update in one transaction, so they cost a single commit.
+     * Rolls back and rethrows on failure.
+     */
+    private void commit(ConnectionPool.Lease lease, List<ProgressEvent> events) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            lease.connection().setAutoCommit(false);
+            for (ProgressEvent event : events) {
+                switch (event) {
+                    case ProgressEvent.LessonCompleted lesson ->
+                            writeLessonComplete(lease, lesson.moduleId(), lesson.lessonId(), lesson.at());
+                    case ProgressEvent.QuizAttempt quiz ->
+                            writeQuizAttempt(lease, quiz.moduleId(), quiz.score(), quiz.totalQuestions(), quiz.at());
+                }
+            }
+            updateUserStats(lease);
+            lease.connection().commit();
+            Metrics.DB_WRITE.recordSince(start);
+
+        } catch (SQLException e) {
+            try {
+                lease.connection().rollback();
+            } catch (SQLException rollbackError) {
+                logger.error("Error rolling back progress write: {}", rollbackError.getMessage());
+            }
+            throw e;
+        } finally {
+            try {
+                lease.connection().setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.error("Error restoring autocommit: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get module progress (percentage of lessons completed)
+     */
+    public int getModuleProgress(int moduleId, int totalLessons) {
+        ProgressBitmap.checkModule(moduleId);
+        return (int) Math.round((double) bitmap.completedLessons(moduleId) / totalLessons * 100);
+    }
+
+    /**
+     * Get overall course progress
+     */
+    public int getOverallProgress(int totalLessons) {
+        return (int) Math.round((double) bitmap.completedLessons() / totalLessons * 100);
+    }
+
+    /**
+     * Get a snapshot of completed lesson counts for all modules, keyed by module ID.
+     * Modules without progress are absent.
+     */
+    public Map<Integer, Integer> getCompletedLessonsByModule() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int moduleId = 0; moduleId < ProgressBitmap.CAPACITY; moduleId++) {
+            int completed = bitmap.completedLessons(moduleId);
+            if (completed > 0) {
+                counts.put(moduleId, completed);
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Get all progress data for display
+     */
+    public synchronized Map<String, Object> getAllProgressData() {
+        Map<String, Object> data = new HashMap<>();
+        String sql = "SELECT * FROM user_stats WHERE learner_id = ?";
+
+        flush();    // the statistics below are read from the tables
+
+        long start = System.nanoTime();
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setInt(1, learnerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    // Totals are kept current by triggers, see ProgressDatabase#createSchema
+                    int lessons = rs.getInt("total_lessons_completed");
+                    int quizzes = rs.getInt("total_quizzes_completed");
+                    data.put("totalLessonsCompleted", lessons);
+                    data.put("totalQuizzesCompleted", quizzes);
+                    data.put("completedLessons", lessons);
+                    data.put("completedQuizzes", quizzes);
+                    data.put("startedAt", rs.getTimestamp("started_at"));
+                    data.put("lastActivity", rs.getTimestamp("last_activity"));
+                }
+            }
+            Metrics.DB_READ.recordSince(start);
+
+        } catch (SQLException e) {
+            logger.error("Error getting progress data: {}", e.getMessage(), e);
+        }
+
+        return data;
+    }
+
+    /**
+     * Update user statistics. The completion totals are maintained by triggers,
+     * so only the activity time is written here.
+     */
+    private void updateUserStats(ConnectionPool.Lease lease) throws SQLException {
+        String sql = "UPDATE user_stats SET last_activity = ? WHERE learner_id = ?";
+
+        PreparedStatement pstmt = lease.prepare(sql);
+        pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+        pstmt.setInt(2, learnerId);
+        pstmt.executeUpdate();
+    }
+
+    /**
+     * Reset all progress of this learner (for testing or starting fresh)
+     */
+    public synchronized void resetProgress() {
+        pendingEvents.clear();
+
+        try (ConnectionPool.Lease lease = pool.borrowWriter()) {
+            for (String sql : List.of(
+                    "DELETE FROM lesson_progress WHERE learner_id = ?",
+                    "DELETE FROM quiz_progress WHERE learner_id = ?",
+                    "UPDATE user_stats SET total_lessons_completed = 0, total_quizzes_completed = 0 WHERE learner_id = ?")) {
+                PreparedStatement pstmt = lease.prepare(sql);
+                pstmt.setInt(1, learnerId);
+                pstmt.executeUpdate();
+            }
+            bitmap.clear();
+
+            logger.info("Progress reset successfully for learner {}", learnerName);
+        } catch (SQLException e) {
+            logger.error("Error resetting progress: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.pythonlearning.database;
+
+import com.pythonlearning.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent cache of what reference solutions print, kept in the progress database.
+ *
+ * An entry is keyed by the SHA-256 of the solution code, the SHA-256 of the program
+ * input it was run with, and the Python version that ran it, so editing a solution or
+ * upgrading the interpreter simply misses the cache. Entries are shared by all learners.
+ */
+public class SolutionOutputStore {
+    private static final Logger logger = LoggerFactory.getLogger(SolutionOutputStore.class);
+
+    private final ConnectionPool pool;
+
+    SolutionOutputStore(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Cached output of one solution run
+     *
+     * @param succeeded whether the solution ran to completion; a failed run (usually one
+     *                  that needs input it was not given) is cached too, so it is not retried
+     */
+    public record Output(boolean succeeded, String stdout) {
+    }
+
+    /**
+     * One solution run to store, for {@link #putAll(List)}
+     */
+    public record Entry(String code, String input, String pythonVersion, Output output) {
+    }
+
+    /**
+     * Look up the output of a solution run on the given input and Python version
+     */
+    public Optional<Output> get(String code, String input, String pythonVersion) {
+        String sql = """
+            SELECT succeeded, stdout FROM solution_outputs
+            WHERE code_hash = ? AND input_hash = ? AND python_version = ?
+        """;
+
+        long start = System.nanoTime();
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement pstmt = lease.prepare(sql);
+            pstmt.setString(1, hash(code));
+            pstmt.setString(2, hash(input));
+            pstmt.setString(3, pythonVersion);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? Optional.of(new Output(rs.getBoolean(1), rs.getString(2))) : Optional.empty();
+            } finally {
+                Metrics.DB_READ.recordSince(start);
+            }
+        } catch (SQLException e) {
+            logger.error("Error reading solution output: {}", e.getMessage(), e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Store the output of one solution run
+     */
+    public void put(String code, String input, String pythonVersion, Output output) {
+        putAll(List.of(new Entry(code, input, pythonVersion, output)));
+    }
+
+    /**
+     * Store many solution runs in one transaction
+     */
+    public void putAll(List<Entry> entries) {
+        String sql = """
+            INSERT OR REPLACE INTO solution_outputs (code_hash, input_hash, python_version, succeeded, stdout, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long start = System.nanoTime();
+        try (ConnectionPool.Lease lease = pool.borrowWriter()) {
+            Connection connection = lease.connection();
+            connection.setAutoCommit(false);
+            try {
+                PreparedStatement pstmt = lease.prepare(sql);
+                for (Entry entry : entries) {
+                    pstmt.setString(1, hash(entry.code()));
+                    pstmt.setString(2, hash(entry.input()));
+                    pstmt.setString(3, entry.pythonVersion());
+                    pstmt.setBoolean(4, entry.output().succeeded());
+                    pstmt.setString(5, entry.output().stdout());
+                    pstmt.setTimestamp(6, now);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                connection.commit();
+                Metrics.DB_WRITE.recordSince(start);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Error storing solution outputs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hex SHA-256 of a text, the cache key of solution code and program input
+     */
+    static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
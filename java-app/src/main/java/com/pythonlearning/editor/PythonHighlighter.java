@@ -0,0 +1,220 @@
+package com.pythonlearning.editor;
+
+import javafx.concurrent.Task;
+import org.fxmisc.richtext.CodeArea;
+import org.fxmisc.richtext.model.PlainTextChange;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.TwoDimensional;
+import org.fxmisc.richtext.util.UndoUtils;
+import org.reactfx.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps an editable CodeArea highlighted as the learner types.
+ *
+ * Every paragraph's lexer exit state is cached. Edits mark the touched paragraphs dirty
+ * (and shift the cache for inserted or removed lines) immediately, but lexing waits until
+ * typing pauses. It then runs on a background thread over a copy of the dirty paragraphs
+ * and stops at the first line past the edit whose exit state is unchanged, because
+ * nothing below it can have changed. Results are applied per paragraph on the FX thread,
+ * at most {@value #MAX_LINES_PER_PASS} lines per pass, so pasting a large exercise never
+ * restyles the whole document in one frame. Results computed for an outdated document
+ * are dropped; the next pause re-lexes the still-dirty range.
+ *
+ * Must be created and used on the FX thread.
+ */
+public class PythonHighlighter {
+    private static final Logger logger = LoggerFactory.getLogger(PythonHighlighter.class);
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(40);
+    private static final int MAX_LINES_PER_PASS = 500;
+    private static final int UNKNOWN = -1;
+
+    // One lexing thread shared by all editors
+    private static final ExecutorService lexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-lexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CodeArea area;
+    private final List<Integer> exitStates = new ArrayList<>();
+    private final Subscription subscription;
+
+    // Dirty paragraph range, inclusive; empty when dirtyFrom > dirtyTo
+    private int dirtyFrom;
+    private int dirtyTo;
+
+    private long version;
+    private Task<Pass> running;
+
+    private PythonHighlighter(CodeArea area) {
+        this.area = area;
+
+        int paragraphs = area.getParagraphs().size();
+        for (int i = 0; i < paragraphs; i++) {
+            exitStates.add(UNKNOWN);
+        }
+        dirtyFrom = 0;
+        dirtyTo = paragraphs - 1;
+
+        Subscription changes = area.plainTextChanges().subscribe(this::recordChange);
+        Subscription pauses = area.plainTextChanges().successionEnds(DEBOUNCE).subscribe(change -> schedule());
+        this.subscription = changes.and(pauses);
+    }
+
+    /**
+     * Highlight an editable area now and after every edit. The area's undo history is
+     * switched to text changes only, so restyling never becomes an undo step.
+     */
+    public static PythonHighlighter attach(CodeArea area) {
+        area.setUndoManager(UndoUtils.plainTextUndoManager(area));
+        PythonHighlighter highlighter = new PythonHighlighter(area);
+        highlighter.schedule();
+        return highlighter;
+    }
+
+    /**
+     * Stop following the area's edits
+     */
+    public void detach() {
+        subscription.unsubscribe();
+        if (running != null) {
+            running.cancel();
+        }
+    }
+
+    /**
+     * Shift the state cache and widen the dirty range for one edit
+     */
+    private void recordChange(PlainTextChange change) {
+        version++;
+        int paragraph = area.offsetToPosition(change.getPosition(), TwoDimensional.Bias.Backward).getMajor();
+        int removedLines = countLines(change.getRemoved());
+        int insertedLines = countLines(change.getInserted());
+
+        for (int i = 0; i < removedLines; i++) {
+            exitStates.remove(paragraph + 1);
+        }
+        for (int i = 0; i < insertedLines; i++) {
+            exitStates.add(paragraph + 1, UNKNOWN);
+        }
+
+        if (dirtyFrom > dirtyTo) {
+            dirtyFrom = paragraph;
+            dirtyTo = paragraph + insertedLines;
+        } else {
+            if (dirtyTo > paragraph) {
+                dirtyTo = Math.max(paragraph, dirtyTo + insertedLines - removedLines);
+            }
+            dirtyFrom = Math.min(dirtyFrom, paragraph);
+            dirtyTo = Math.max(dirtyTo, paragraph + insertedLines);
+        }
+    }
+
+    private static int countLines(String text) {
+        int lines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Lex the dirty range in the background unless a pass is already running
+     */
+    private void schedule() {
+        if (running != null || dirtyFrom > dirtyTo) {
+            return;
+        }
+
+        // Copy at most one pass worth of lines, starting at the first dirty one
+        int paragraphs = area.getParagraphs().size();
+        int from = Math.min(dirtyFrom, paragraphs - 1);
+        int to = Math.min(paragraphs - 1, from + MAX_LINES_PER_PASS - 1);
+
+        List<String> lines = new ArrayList<>(to - from + 1);
+        int[] previousExits = new int[to - from + 1];
+        for (int i = from; i <= to; i++) {
+            lines.add(area.getText(i));
+            previousExits[i - from] = exitStates.get(i);
+        }
+        int entryState = from > 0 ? exitStates.get(from - 1) : PythonLexer.NORMAL;
+        int mustReach = dirtyTo;
+        long passVersion = version;
+
+        Task<Pass> task = new Task<>() {
+            @Override
+            protected Pass call() {
+                return lex(from, lines, previousExits, entryState, mustReach);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            running = null;
+            if (version == passVersion) {
+                apply(task.getValue());
+            }
+            schedule();
+        });
+        task.setOnFailed(event -> {
+            running = null;
+            logger.error("Error highlighting code", task.getException());
+        });
+        task.setOnCancelled(event -> running = null);
+
+        running = task;
+        lexer.execute(task);
+    }
+
+    /**
+     * Result of one background pass
+     */
+    private record Pass(int from, List<StyleSpans<Collection<String>>> spans, int[] exits, boolean settled) {
+    }
+
+    private static Pass lex(int from, List<String> lines, int[] previousExits, int entryState, int mustReach) {
+        List<StyleSpans<Collection<String>>> spans = new ArrayList<>(lines.size());
+        int[] exits = new int[lines.size()];
+        int state = entryState == UNKNOWN ? PythonLexer.NORMAL : entryState;
+
+        for (int i = 0; i < lines.size(); i++) {
+            PythonLexer.Line line = PythonLexer.highlightLine(lines.get(i), state);
+            spans.add(line.spans());
+            exits[i] = line.exitState();
+            state = line.exitState();
+
+            // Past the edit and leaving the lexer as before: the rest is already correct
+            if (from + i >= mustReach && exits[i] == previousExits[i]) {
+                return new Pass(from, spans, exits, true);
+            }
+        }
+        return new Pass(from, spans, exits, false);
+    }
+
+    private void apply(Pass pass) {
+        for (int i = 0; i < pass.spans().size(); i++) {
+            area.setStyleSpans(pass.from() + i, 0, pass.spans().get(i));
+            exitStates.set(pass.from() + i, pass.exits()[i]);
+        }
+
+        int next = pass.from() + pass.spans().size();
+        if (pass.settled() || next >= area.getParagraphs().size()) {
+            dirtyFrom = 0;
+            dirtyTo = -1;
+        } else {
+            // Continue below on the next pass
+            dirtyFrom = next;
+            dirtyTo = Math.max(dirtyTo, next);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.pythonlearning.editor;
+
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.StyleSpansBuilder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written Python lexer producing RichTextFX style spans, one line at a time.
+ *
+ * The only state carried from one line to the next is whether the line ends inside a
+ * triple-quoted string, so a line's styling depends only on its text and its entry
+ * state. That is what lets {@link PythonHighlighter} re-lex just the edited lines and
+ * stop as soon as a line's exit state matches the one it had before the edit.
+ *
+ * Style classes: keyword, builtin, string, comment, number, decorator and definition
+ * (the name after def/class). Stateless and thread-safe.
+ */
+public final class PythonLexer {
+
+    /**
+     * Line entry/exit states
+     */
+    public static final int NORMAL = 0;
+    public static final int IN_TRIPLE_SINGLE = 1;   // inside '''...
+    public static final int IN_TRIPLE_DOUBLE = 2;   // inside """...
+
+    private static final Collection<String> PLAIN = Collections.emptyList();
+    private static final Collection<String> KEYWORD = List.of("keyword");
+    private static final Collection<String> BUILTIN = List.of("builtin");
+    private static final Collection<String> STRING = List.of("string");
+    private static final Collection<String> COMMENT = List.of("comment");
+    private static final Collection<String> NUMBER = List.of("number");
+    private static final Collection<String> DECORATOR = List.of("decorator");
+    private static final Collection<String> DEFINITION = List.of("definition");
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "False", "None", "True", "and", "as", "assert", "async", "await", "break", "class", "continue",
+            "def", "del", "elif", "else", "except", "finally", "for", "from", "global", "if", "import", "in",
+            "is", "lambda", "match", "case", "nonlocal", "not", "or", "pass", "raise", "return", "try",
+            "while", "with", "yield");
+
+    private static final Set<String> BUILTINS = Set.of(
+            "abs", "all", "any", "bool", "dict", "dir", "enumerate", "filter", "float", "format", "input",
+            "int", "isinstance", "len", "list", "map", "max", "min", "next", "object", "open", "print",
+            "range", "repr", "reversed", "round", "set", "sorted", "str", "sum", "super", "tuple", "type",
+            "zip", "self", "cls", "Exception", "ValueError", "TypeError", "KeyError", "IndexError",
+            "ZeroDivisionError", "FileNotFoundError", "NameError", "AttributeError");
+
+    private PythonLexer() {
+    }
+
+    /**
+     * Style a whole document (read-only code blocks)
+     */
+    public static StyleSpans<Collection<String>> highlight(String text) {
+        StyleSpansBuilder<Collection<String>> spans = new StyleSpansBuilder<>();
+        Emitter out = new Emitter(spans);
+        int state = NORMAL;
+        int start = 0;
+
+        while (true) {
+            int end = text.indexOf('\n', start);
+            String line = end >= 0 ? text.substring(start, end) : text.substring(start);
+            state = lexLine(line, state, out);
+            if (end < 0) {
+                break;
+            }
+            out.plain(1);   // the line break
+            start = end + 1;
+        }
+        return out.finish();
+    }
+
+    /**
+     * Style a single line (paragraph)
+     *
+     * @param state entry state: the exit state of the previous line, NORMAL for the first
+     * @return the spans and the exit state
+     */
+    public static Line highlightLine(String line, int state) {
+        Emitter out = new Emitter(new StyleSpansBuilder<>());
+        int exit = lexLine(line, state, out);
+        return new Line(out.finish(), exit);
+    }
+
+    /**
+     * Styled line and the state it leaves the lexer in
+     */
+    public record Line(StyleSpans<Collection<String>> spans, int exitState) {
+    }
+
+    private static int lexLine(String line, int state, Emitter out) {
+        int length = line.length();
+        int i = 0;
+
+        // Continue a triple-quoted string from an earlier line
+        if (state != NORMAL) {
+            int close = findTripleClose(line, 0, state == IN_TRIPLE_SINGLE ? '\'' : '"');
+            if (close < 0) {
+                out.add(STRING, length);
+                return state;
+            }
+            out.add(STRING, close);
+            i = close;
+        }
+
+        boolean expectDefinition = false;
+        boolean lineStart = true;
+        while (i < length) {
+            char c = line.charAt(i);
+
+            if (c == '#') {
+                out.add(COMMENT, length - i);
+                return NORMAL;
+            }
+
+            if (c == '@' && lineStart) {
+                int end = i + 1;
+                while (end < length && (isIdentifierPart(line.charAt(end)) || line.charAt(end) == '.')) {
+                    end++;
+                }
+                out.add(DECORATOR, end - i);
+                i = end;
+                lineStart = false;
+                continue;
+            }
+
+            int quote = stringStart(line, i);
+            if (quote >= 0) {
+                char delimiter = line.charAt(quote);
+                boolean triple = quote + 2 < length && line.charAt(quote + 1) == delimiter
+                        && line.charAt(quote + 2) == delimiter;
+                if (triple) {
+                    int close = findTripleClose(line, quote + 3, delimiter);
+                    if (close < 0) {
+                        out.add(STRING, length - i);
+                        return delimiter == '\'' ? IN_TRIPLE_SINGLE : IN_TRIPLE_DOUBLE;
+                    }
+                    out.add(STRING, close - i);
+                    i = close;
+                } else {
+                    int end = findClose(line, quote + 1, delimiter);
+                    out.add(STRING, end - i);
+                    i = end;
+                }
+                lineStart = false;
+                expectDefinition = false;
+                continue;
+            }
+
+            if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(line.charAt(i + 1)))) {
+                int end = scanNumber(line, i);
+                out.add(NUMBER, end - i);
+                i = end;
+                lineStart = false;
+                continue;
+            }
+
+            if (isIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(line.charAt(end))) {
+                    end++;
+                }
+                String word = line.substring(i, end);
+                if (expectDefinition) {
+                    out.add(DEFINITION, end - i);
+                    expectDefinition = false;
+                } else if (KEYWORDS.contains(word)) {
+                    out.add(KEYWORD, end - i);
+                    expectDefinition = word.equals("def") || word.equals("class");
+                } else if (BUILTINS.contains(word)) {
+                    out.add(BUILTIN, end - i);
+                } else {
+                    out.plain(end - i);
+                }
+                i = end;
+                lineStart = false;
+                continue;
+            }
+
+            if (!Character.isWhitespace(c)) {
+                lineStart = false;
+                expectDefinition = false;
+            }
+            out.plain(1);
+            i++;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Index of the opening quote if a string literal (with optional r/b/u/f prefixes)
+     * starts at i, otherwise -1
+     */
+    private static int stringStart(String line, int i) {
+        char c = line.charAt(i);
+        if (c == '"' || c == '\'') {
+            return i;
+        }
+        // A prefix only counts at the start of a word
+        if (i > 0 && isIdentifierPart(line.charAt(i - 1))) {
+            return -1;
+        }
+        int j = i;
+        while (j < line.length() && j - i < 2 && "rRbBuUfF".indexOf(line.charAt(j)) >= 0) {
+            j++;
+        }
+        return j > i && j < line.length() && (line.charAt(j) == '"' || line.charAt(j) == '\'') ? j : -1;
+    }
+
+    /**
+     * Index after the closing quote of a single-quoted string, or the line end if unterminated
+     */
+    private static int findClose(String line, int from, char delimiter) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == delimiter) {
+                return i + 1;
+            }
+        }
+        return line.length();
+    }
+
+    /**
+     * Index after the closing triple quote, or -1 if the string continues past this line
+     */
+    private static int findTripleClose(String line, int from, char delimiter) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == delimiter && i + 2 < line.length() && line.charAt(i + 1) == delimiter
+                    && line.charAt(i + 2) == delimiter) {
+                return i + 3;
+            }
+        }
+        return -1;
+    }
+
+    private static int scanNumber(String line, int i) {
+        int end = i;
+        if (line.charAt(i) == '0' && i + 1 < line.length() && "xXoObB".indexOf(line.charAt(i + 1)) >= 0) {
+            end = i + 2;
+            while (end < line.length() && (Character.isLetterOrDigit(line.charAt(end)) || line.charAt(end) == '_')) {
+                end++;
+            }
+            return end;
+        }
+
+        while (end < line.length()) {
+            char c = line.charAt(end);
+            if (Character.isDigit(c) || c == '_' || c == '.') {
+                end++;
+            } else if ((c == 'e' || c == 'E') && end + 1 < line.length()) {
+                end++;
+                if (line.charAt(end) == '+' || line.charAt(end) == '-') {
+                    end++;
+                }
+            } else {
+                break;
+            }
+        }
+        if (end < line.length() && (line.charAt(end) == 'j' || line.charAt(end) == 'J')) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return c == '_' || Character.isLetter(c);
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Appends spans, merging consecutive unstyled characters into one span
+     */
+    private static final class Emitter {
+        private final StyleSpansBuilder<Collection<String>> spans;
+        private int pendingPlain;
+        private boolean empty = true;
+
+        Emitter(StyleSpansBuilder<Collection<String>> spans) {
+            this.spans = spans;
+        }
+
+        void plain(int length) {
+            pendingPlain += length;
+        }
+
+        void add(Collection<String> style, int length) {
+            if (length == 0) {
+                return;
+            }
+            flushPlain();
+            spans.add(style, length);
+            empty = false;
+        }
+
+        private void flushPlain() {
+            if (pendingPlain > 0) {
+                spans.add(PLAIN, pendingPlain);
+                pendingPlain = 0;
+                empty = false;
+            }
+        }
+
+        StyleSpans<Collection<String>> finish() {
+            flushPlain();
+            if (empty) {
+                // StyleSpansBuilder needs at least one span, even for an empty line
+                spans.add(PLAIN, 0);
+            }
+            return spans.create();
+        }
+    }
+}
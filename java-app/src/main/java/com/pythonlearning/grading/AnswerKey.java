@@ -0,0 +1,184 @@
+package com.pythonlearning.grading;
+
+import com.pythonlearning.model.Quiz;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A quiz compiled into primitive answer keys for fast grading.
+ *
+ * Every question's correct answer becomes one int: an option index for choice
+ * questions, 1 or 0 for true/false questions. Submitted answers are encoded the same
+ * way once, so scoring a submission is a loop of int comparisons with no boxing and
+ * no per-answer type checks. Text answers are matched case-insensitively against the
+ * question's options, whose normalized texts are interned at compile time.
+ *
+ * Immutable and safe to share between grading threads.
+ */
+public final class AnswerKey {
+    /**
+     * Encoded value of a question left blank
+     */
+    public static final int UNANSWERED = -1;
+
+    // Encoded value of an answer that matches nothing; never equal to a key
+    private static final int NO_MATCH = -2;
+
+    // Key of a question without a correct answer; never equal to an encoded answer
+    private static final int NO_KEY = Integer.MIN_VALUE;
+
+    private final int moduleId;
+    private final int passingScore;
+    private final int[] keys;
+    private final boolean[] trueFalse;
+    private final List<Map<String, Integer>> choices;
+
+    private AnswerKey(int moduleId, int passingScore, int[] keys, boolean[] trueFalse,
+                      List<Map<String, Integer>> choices) {
+        this.moduleId = moduleId;
+        this.passingScore = passingScore;
+        this.keys = keys;
+        this.trueFalse = trueFalse;
+        this.choices = choices;
+    }
+
+    /**
+     * Compile a module's quiz
+     */
+    public static AnswerKey compile(int moduleId, Quiz quiz) {
+        List<Quiz.Question> questions = quiz.getQuestions() != null ? quiz.getQuestions() : List.of();
+        int[] keys = new int[questions.size()];
+        boolean[] trueFalse = new boolean[questions.size()];
+        List<Map<String, Integer>> choices = new ArrayList<>(questions.size());
+
+        for (int i = 0; i < questions.size(); i++) {
+            Quiz.Question question = questions.get(i);
+            Object answer = question.getCorrectAnswer();
+
+            // Option texts by normalized value, so text answers can be matched to an index
+            Map<String, Integer> options = new HashMap<>();
+            if (question.getOptions() != null) {
+                for (int option = 0; option < question.getOptions().size(); option++) {
+                    options.putIfAbsent(normalize(question.getOptions().get(option)).intern(), option);
+                }
+            }
+            choices.add(Map.copyOf(options));
+
+            int flag = booleanValue(answer);
+            trueFalse[i] = flag != NO_MATCH && (options.isEmpty() || "true_false".equals(question.getType()));
+            if (trueFalse[i]) {
+                keys[i] = flag;
+            } else if (answer instanceof Number number && index(number) != NO_MATCH) {
+                keys[i] = index(number);
+            } else if (answer instanceof String text && options.containsKey(normalize(text))) {
+                keys[i] = options.get(normalize(text));
+            } else {
+                keys[i] = NO_KEY;
+            }
+        }
+
+        return new AnswerKey(moduleId, quiz.getPassingScore(), keys, trueFalse, choices);
+    }
+
+    public int getModuleId() {
+        return moduleId;
+    }
+
+    public int getPassingScore() {
+        return passingScore;
+    }
+
+    public int questionCount() {
+        return keys.length;
+    }
+
+    /**
+     * Encode raw answers, one per question (option indices as numbers or strings,
+     * option texts, booleans or "true"/"false"; null for a blank answer)
+     */
+    public int[] encode(List<?> rawAnswers) {
+        int[] answers = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            answers[i] = i < rawAnswers.size() ? encode(i, rawAnswers.get(i)) : UNANSWERED;
+        }
+        return answers;
+    }
+
+    /**
+     * Encode one raw answer to the given question
+     */
+    public int encode(int question, Object rawAnswer) {
+        if (rawAnswer == null) {
+            return UNANSWERED;
+        }
+        if (trueFalse[question]) {
+            return booleanValue(rawAnswer);
+        }
+        if (rawAnswer instanceof Number number) {
+            return index(number);
+        }
+        if (rawAnswer instanceof String text) {
+            String normalized = normalize(text);
+            Integer option = choices.get(question).get(normalized);
+            if (option != null) {
+                return option;
+            }
+            try {
+                return Integer.parseInt(normalized);
+            } catch (NumberFormatException e) {
+                return NO_MATCH;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Count correct answers in an encoded submission
+     */
+    public int score(int[] answers) {
+        int score = 0;
+        int count = Math.min(answers.length, keys.length);
+        for (int i = 0; i < count; i++) {
+            if (answers[i] == keys[i]) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Check one encoded answer
+     */
+    public boolean isCorrect(int question, int answer) {
+        return keys[question] == answer;
+    }
+
+    private static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static int booleanValue(Object value) {
+        if (value instanceof Boolean flag) {
+            return flag ? 1 : 0;
+        }
+        if (value instanceof String text) {
+            String normalized = normalize(text);
+            if (normalized.equals("true")) {
+                return 1;
+            }
+            if (normalized.equals("false")) {
+                return 0;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static int index(Number number) {
+        double value = number.doubleValue();
+        return value == Math.rint(value) && value >= 0 && value <= Integer.MAX_VALUE ? (int) value : NO_MATCH;
+    }
+}
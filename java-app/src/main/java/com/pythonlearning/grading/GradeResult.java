@@ -0,0 +1,16 @@
+package com.pythonlearning.grading;
+
+import com.pythonlearning.database.ProgressDatabase;
+
+/**
+ * The graded outcome of one {@link Submission}
+ */
+public record GradeResult(String learner, int moduleId, int score, int totalQuestions, int percentage, boolean passed) {
+
+    /**
+     * Convert to a progress database quiz attempt
+     */
+    public ProgressDatabase.QuizAttempt toAttempt() {
+        return new ProgressDatabase.QuizAttempt(learner, moduleId, score, totalQuestions);
+    }
+}
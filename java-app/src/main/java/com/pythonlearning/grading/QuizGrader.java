@@ -0,0 +1,79 @@
+package com.pythonlearning.grading;
+
+import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.model.Quiz;
+import com.pythonlearning.util.ContentLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Headless quiz grading for single submissions and whole cohorts.
+ *
+ * Each module's quiz is compiled into an {@link AnswerKey} once, on first use.
+ * Bulk grading scores submissions in parallel on the common fork-join pool, and the
+ * results can be recorded in the progress database as one batch.
+ */
+public class QuizGrader {
+    private static final Logger logger = LoggerFactory.getLogger(QuizGrader.class);
+
+    private final ConcurrentMap<Integer, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Get the compiled answer key of a module's quiz
+     *
+     * @throws IllegalArgumentException if the module has no quiz
+     */
+    public AnswerKey answerKey(int moduleId) {
+        return answerKeys.computeIfAbsent(moduleId, id -> {
+            Quiz quiz = ContentLoader.loadQuiz(id);
+            if (quiz == null) {
+                throw new IllegalArgumentException("No quiz for module " + id);
+            }
+            AnswerKey key = AnswerKey.compile(id, quiz);
+            logger.debug("Compiled answer key for module {} ({} questions)", id, key.questionCount());
+            return key;
+        });
+    }
+
+    /**
+     * Drop a module's compiled answer key, e.g. after its quiz was edited
+     */
+    public void invalidate(int moduleId) {
+        answerKeys.remove(moduleId);
+    }
+
+    /**
+     * Grade one submission
+     */
+    public GradeResult grade(Submission submission) {
+        AnswerKey key = answerKey(submission.moduleId());
+        int score = key.score(submission.answers());
+        int total = key.questionCount();
+        int percentage = total > 0 ? (int) Math.round((double) score / total * 100) : 0;
+
+        return new GradeResult(submission.learner(), submission.moduleId(), score, total, percentage,
+                percentage >= key.getPassingScore());
+    }
+
+    /**
+     * Grade many submissions in parallel; results are in submission order
+     */
+    public List<GradeResult> gradeAll(List<Submission> submissions) {
+        long start = System.nanoTime();
+        List<GradeResult> results = submissions.parallelStream().map(this::grade).toList();
+
+        logger.info("Graded {} submissions in {} ms", results.size(), (System.nanoTime() - start) / 1_000_000);
+        return results;
+    }
+
+    /**
+     * Record graded results as quiz attempts in one database transaction
+     */
+    public static void record(List<GradeResult> results, ProgressDatabase database) {
+        database.recordQuizAttempts(results.stream().map(GradeResult::toAttempt).toList());
+    }
+}
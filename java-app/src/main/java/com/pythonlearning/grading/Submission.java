@@ -0,0 +1,6 @@
+package com.pythonlearning.grading;
+
+/**
+ * One learner's answers to a module quiz, encoded with the module's {@link AnswerKey}
+ */
+public record Submission(String learner, int moduleId, int[] answers) {}
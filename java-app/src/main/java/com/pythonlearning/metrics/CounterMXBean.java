@@ -0,0 +1,9 @@
+package com.pythonlearning.metrics;
+
+/**
+ * JMX view of a {@link Counter}, registered as com.pythonlearning:type=Counter,name=&lt;metric&gt;
+ */
+public interface CounterMXBean {
+
+    long getCount();
+}
@@ -0,0 +1,171 @@
+package com.pythonlearning.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the style of HdrHistogram.
+ *
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so any
+ * recorded duration from 1 ns to about 146 years lands in a fixed array of counters with
+ * at most 1/{@value #SUB_BUCKETS} relative error. Recording is a few atomic increments
+ * and takes no locks; percentiles are computed from a copy of the counters when a
+ * snapshot is taken. Each recording is also committed as a JFR {@link OperationEvent}
+ * while a flight recording has that event enabled.
+ *
+ * Values are cumulative since startup. Thread-safe.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Record one operation that took the given number of nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        totalNanos.add(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+
+        OperationEvent event = new OperationEvent();
+        if (event.isEnabled()) {
+            event.operation = name;
+            event.elapsed = value;
+            event.commit();
+        }
+    }
+
+    /**
+     * Record one operation that started at the given System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Midpoint of the values a bucket holds
+     */
+    static long bucketValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) / 2;
+    }
+
+    /**
+     * Count, mean and percentiles as of now
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        if (total == 0) {
+            return new Snapshot(name, 0, 0, 0, 0, 0, 0);
+        }
+
+        return new Snapshot(name, total, totalNanos.sum() / Math.max(1, count.sum()),
+                Math.min(max, percentile(counts, total, 0.50)),
+                Math.min(max, percentile(counts, total, 0.90)),
+                Math.min(max, percentile(counts, total, 0.99)),
+                max);
+    }
+
+    private static long percentile(long[] counts, long total, double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(total * fraction));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketValue(i);
+            }
+        }
+        return bucketValue(counts.length - 1);
+    }
+
+    /**
+     * Latencies in nanoseconds
+     */
+    public record Snapshot(String name, long count, long meanNanos, long p50Nanos, long p90Nanos,
+                           long p99Nanos, long maxNanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %8d  mean %9s  p50 %9s  p90 %9s  p99 %9s  max %9s", name, count,
+                    format(meanNanos), format(p50Nanos), format(p90Nanos), format(p99Nanos), format(maxNanos));
+        }
+
+        private static String format(long nanos) {
+            if (nanos < 1_000_000) {
+                return String.format("%.1f us", nanos / 1e3);
+            }
+            return String.format("%.1f ms", nanos / 1e6);
+        }
+    }
+
+    // JMX attributes, in milliseconds
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return snapshot().meanNanos() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return snapshot().p50Nanos() / 1e6;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return snapshot().p90Nanos() / 1e6;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return snapshot().p99Nanos() / 1e6;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+}
@@ -0,0 +1,20 @@
+package com.pythonlearning.metrics;
+
+/**
+ * JMX view of a {@link LatencyHistogram}, registered as
+ * com.pythonlearning:type=Latency,name=&lt;metric&gt;
+ */
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
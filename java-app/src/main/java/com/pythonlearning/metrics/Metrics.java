@@ -0,0 +1,126 @@
+package com.pythonlearning.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The application's hot-path metrics: one fixed set of latency histograms and counters,
+ * shared by every part of the app.
+ *
+ * Instrumented code records with a start time and no allocation:
+ * <pre>
+ *     long start = System.nanoTime();
+ *     ...
+ *     Metrics.LESSON_PARSE.recordSince(start);
+ * </pre>
+ * The metrics are exposed three ways: as MXBeans under com.pythonlearning (see
+ * {@link #registerMBeans()}), as JFR {@link OperationEvent}s, and as text via
+ * {@link #report()} for the diagnostics panel and the shutdown log.
+ */
+public final class Metrics {
+    private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+
+    private static final List<LatencyHistogram> histograms = new ArrayList<>();
+    private static final List<Counter> counters = new ArrayList<>();
+
+    // ContentLoader.loadLesson, including cache hits
+    public static final LatencyHistogram LESSON_LOAD = histogram("lesson.load");
+    // Reading and parsing one lesson from the content pack or JSON
+    public static final LatencyHistogram LESSON_PARSE = histogram("lesson.parse");
+    // Reading and parsing one quiz
+    public static final LatencyHistogram QUIZ_PARSE = histogram("quiz.parse");
+    // Markdown/HTML to sanitized HTML and text for one section (cache misses only)
+    public static final LatencyHistogram SECTION_RENDER = histogram("section.render");
+    // Swapping a lesson's sections into the content pane on the FX thread (cells are laid out in the next pulse)
+    public static final LatencyHistogram LESSON_DISPLAY = histogram("ui.lesson.display");
+    // From choosing a lesson until all of its WebViews have painted
+    public static final LatencyHistogram NAVIGATION_TO_PAINT = histogram("ui.navigation.toPaint");
+    // Queries against the progress database
+    public static final LatencyHistogram DB_READ = histogram("db.read");
+    // Committed writes to the progress database
+    public static final LatencyHistogram DB_WRITE = histogram("db.write");
+    // One program run by a Python worker, including queueing for a free worker
+    public static final LatencyHistogram PYTHON_RUN = histogram("python.run");
+
+    // Progress events queued for the next write-behind flush
+    public static final Counter PROGRESS_EVENTS = counter("progress.events");
+    // WebViews created, i.e. WebKit engines started
+    public static final Counter WEBVIEWS_CREATED = counter("ui.webviews.created");
+    // Lessons and quizzes that could not be read or parsed
+    public static final Counter CONTENT_ERRORS = counter("content.errors");
+
+    private Metrics() {
+    }
+
+    private static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = new LatencyHistogram(name);
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    private static Counter counter(String name) {
+        Counter counter = new Counter(name);
+        counters.add(counter);
+        return counter;
+    }
+
+    public static List<LatencyHistogram> histograms() {
+        return Collections.unmodifiableList(histograms);
+    }
+
+    public static List<Counter> counters() {
+        return Collections.unmodifiableList(counters);
+    }
+
+    /**
+     * Register every metric with the platform MBean server, for JConsole or VisualVM.
+     * Starting the MBean server takes tens of milliseconds, so call this off the FX thread.
+     */
+    public static void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (LatencyHistogram histogram : histograms) {
+                register(server, histogram, "Latency", histogram.name());
+            }
+            for (Counter counter : counters) {
+                register(server, counter, "Counter", counter.name());
+            }
+            logger.debug("Registered {} metrics with JMX", histograms.size() + counters.size());
+        } catch (JMException e) {
+            logger.warn("Could not register metrics with JMX: {}", e.getMessage());
+        }
+    }
+
+    private static void register(MBeanServer server, Object mbean, String type, String name) throws JMException {
+        ObjectName objectName = new ObjectName("com.pythonlearning:type=" + type + ",name=" + name);
+        if (!server.isRegistered(objectName)) {
+            server.registerMBean(mbean, objectName);
+        }
+    }
+
+    /**
+     * All metrics as aligned text, one per line; operations that never ran are left out
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Latency (since startup):");
+        for (LatencyHistogram histogram : histograms) {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.count() > 0) {
+                report.append("\n  ").append(snapshot);
+            }
+        }
+        report.append("\nCounters:");
+        for (Counter counter : counters) {
+            report.append("\n  ").append(counter);
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.pythonlearning.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed for every operation a {@link LatencyHistogram} records.
+ *
+ * Operations such as navigation-to-paint span several threads, so the duration is
+ * carried in the elapsed field rather than the event's own begin/end. Enable with
+ * -XX:StartFlightRecording and inspect com.pythonlearning.Operation in JDK Mission
+ * Control; the event costs nothing while it is not enabled.
+ */
+@Name("com.pythonlearning.Operation")
+@Label("Operation")
+@Category("Python Learning Platform")
+@Description("A timed application operation, e.g. lesson load or database write")
+@StackTrace(false)
+final class OperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,38 @@
+package com.pythonlearning.model;
+
+import java.util.function.Supplier;
+
+/**
+ * A lesson section that is only parsed the first time it is accessed.
+ * Safe to resolve from any thread; the loader runs at most once.
+ */
+public final class LazySection<T> implements Supplier<T> {
+    private Supplier<T> loader;
+    private volatile boolean resolved;
+    private T value;
+
+    public LazySection(Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public T get() {
+        if (!resolved) {
+            synchronized (this) {
+                if (!resolved) {
+                    value = loader.get();
+                    loader = null;      // release the source bytes once parsed
+                    resolved = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Check whether the section has been parsed yet
+     */
+    public boolean isResolved() {
+        return resolved;
+    }
+}
@@ -17,6 +17,12 @@ public class Lesson {
     private Solution solution;
     private String keyTakeaways;         // Bullet-point summary
 
+    // Sections parsed on first access (set by the streaming loader, ignored by Gson)
+    private transient LazySection<String> lazySyntaxBreakdown;
+    private transient LazySection<Exercise> lazyExercise;
+    private transient LazySection<Solution> lazySolution;
+    private transient LazySection<String> lazyKeyTakeaways;
+
     // Constructors
     public Lesson() {}
 
@@ -60,35 +66,55 @@ public class Lesson {
     }
 
     public String getSyntaxBreakdown() {
-        return syntaxBreakdown;
+        return lazySyntaxBreakdown != null ? lazySyntaxBreakdown.get() : syntaxBreakdown;
     }
 
     public void setSyntaxBreakdown(String syntaxBreakdown) {
         this.syntaxBreakdown = syntaxBreakdown;
+        this.lazySyntaxBreakdown = null;
+    }
+
+    public void deferSyntaxBreakdown(LazySection<String> section) {
+        this.lazySyntaxBreakdown = section;
     }
 
     public Exercise getExercise() {
-        return exercise;
+        return lazyExercise != null ? lazyExercise.get() : exercise;
     }
 
     public void setExercise(Exercise exercise) {
         this.exercise = exercise;
+        this.lazyExercise = null;
+    }
+
+    public void deferExercise(LazySection<Exercise> section) {
+        this.lazyExercise = section;
     }
 
     public Solution getSolution() {
-        return solution;
+        return lazySolution != null ? lazySolution.get() : solution;
     }
 
     public void setSolution(Solution solution) {
         this.solution = solution;
+        this.lazySolution = null;
+    }
+
+    public void deferSolution(LazySection<Solution> section) {
+        this.lazySolution = section;
     }
 
     public String getKeyTakeaways() {
-        return keyTakeaways;
+        return lazyKeyTakeaways != null ? lazyKeyTakeaways.get() : keyTakeaways;
     }
 
     public void setKeyTakeaways(String keyTakeaways) {
         this.keyTakeaways = keyTakeaways;
+        this.lazyKeyTakeaways = null;
+    }
+
+    public void deferKeyTakeaways(LazySection<String> section) {
+        this.lazyKeyTakeaways = section;
     }
 
     @Override
@@ -143,7 +143,10 @@ public class Quiz {
         }
 
         /**
-         * Check if the user's answer is correct
+         * Check if the user's answer is correct.
+         * Numbers compare by value (Gson reads every JSON number as a Double), and
+         * "true"/"false" strings match booleans. For grading many answers at once see
+         * {@link com.pythonlearning.grading.AnswerKey}.
          */
         public boolean isCorrect(Object userAnswer) {
             if (correctAnswer == null || userAnswer == null) {
@@ -151,15 +154,37 @@ public class Quiz {
             }
 
             // Handle different answer types
-            if (correctAnswer instanceof Number && userAnswer instanceof Number) {
-                return correctAnswer.equals(userAnswer);
+            if (correctAnswer instanceof Number expected && userAnswer instanceof Number actual) {
+                return expected.doubleValue() == actual.doubleValue();
+            }
+
+            Boolean expectedFlag = asBoolean(correctAnswer);
+            Boolean actualFlag = asBoolean(userAnswer);
+            if (expectedFlag != null && actualFlag != null) {
+                return expectedFlag.equals(actualFlag);
             }
 
             if (correctAnswer instanceof String && userAnswer instanceof String) {
-                return ((String) correctAnswer).equalsIgnoreCase((String) userAnswer);
+                return ((String) correctAnswer).strip().equalsIgnoreCase(((String) userAnswer).strip());
             }
 
             return correctAnswer.equals(userAnswer);
         }
+
+        private static Boolean asBoolean(Object value) {
+            if (value instanceof Boolean flag) {
+                return flag;
+            }
+            if (value instanceof String text) {
+                String normalized = text.strip();
+                if (normalized.equalsIgnoreCase("true")) {
+                    return Boolean.TRUE;
+                }
+                if (normalized.equalsIgnoreCase("false")) {
+                    return Boolean.FALSE;
+                }
+            }
+            return null;
+        }
     }
 }
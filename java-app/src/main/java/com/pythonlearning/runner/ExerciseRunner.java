@@ -0,0 +1,155 @@
+package com.pythonlearning.runner;
+
+import com.pythonlearning.database.SolutionOutputStore;
+import com.pythonlearning.model.Lesson;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Run and Check for lesson code, on top of a {@link PythonWorkerPool}.
+ *
+ * Check compares what the learner's program prints with what the lesson's solution
+ * prints for the same input. Code examples are compared with the output documented
+ * in the lesson, which writes typed input as "[User types: Sarah]"; those lines are
+ * fed to the program as its input and compared as the echoed text. Outputs are compared
+ * line by line, ignoring trailing whitespace and blank lines at the end.
+ *
+ * Solution outputs come from the {@link SolutionOutputStore} when possible (see
+ * {@link SolutionOutputBatch}); a solution is only run on a cache miss, and its output
+ * is stored for the next Check.
+ *
+ * Calls block until the run finishes; use them off the FX thread.
+ */
+public class ExerciseRunner {
+
+    private static final Pattern TYPED_INPUT = Pattern.compile("(?m)^\\[User types: (.*)]$");
+
+    private final PythonWorkerPool pool;
+    private final SolutionOutputStore solutionOutputs;
+
+    public ExerciseRunner(PythonWorkerPool pool, SolutionOutputStore solutionOutputs) {
+        this.pool = pool;
+        this.solutionOutputs = solutionOutputs;
+    }
+
+    /**
+     * Result of comparing a program's output with a reference
+     *
+     * @param expected the reference output, null if there was none to compare with
+     */
+    public record Check(Verdict verdict, RunResult run, String expected) {
+
+        public enum Verdict {
+            PASSED,
+            DIFFERENT,      // ran, but printed something else
+            FAILED,         // did not run to completion
+            NO_REFERENCE    // nothing to compare with
+        }
+
+        public boolean passed() {
+            return verdict == Verdict.PASSED;
+        }
+    }
+
+    /**
+     * Run a program as is
+     */
+    public RunResult run(String code, String stdin) {
+        return pool.run(code, stdin);
+    }
+
+    /**
+     * Run the learner's code and the lesson solution on the same input and compare
+     */
+    public Check check(String code, Lesson.Solution solution, String stdin) {
+        RunResult learner = pool.run(code, stdin);
+        if (!learner.succeeded()) {
+            return new Check(Check.Verdict.FAILED, learner, null);
+        }
+        if (solution == null || solution.getCode() == null || solution.getCode().isBlank()) {
+            return new Check(Check.Verdict.NO_REFERENCE, learner, null);
+        }
+
+        SolutionOutputStore.Output reference = solutionOutput(solution.getCode(), stdin);
+        if (reference == null || !reference.succeeded()) {
+            // Typically the solution needs input the learner has not typed
+            return new Check(Check.Verdict.NO_REFERENCE, learner, null);
+        }
+        return compare(learner, reference.stdout());
+    }
+
+    /**
+     * Output of the solution on this input, cached per interpreter version
+     *
+     * @return null if the solution could not be run to a cacheable result
+     */
+    private SolutionOutputStore.Output solutionOutput(String code, String stdin) {
+        String version = pool.interpreterVersion();
+        SolutionOutputStore.Output cached = solutionOutputs.get(code, stdin, version).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
+
+        RunResult run = pool.run(code, stdin);
+        if (!isCacheable(run)) {
+            return null;
+        }
+        SolutionOutputStore.Output output = new SolutionOutputStore.Output(run.succeeded(), run.stdout());
+        solutionOutputs.put(code, stdin, version, output);
+        return output;
+    }
+
+    /**
+     * Whether a solution run reflects the code rather than the machine: it finished or
+     * raised an error, as opposed to hitting a limit or finding no interpreter
+     */
+    static boolean isCacheable(RunResult run) {
+        return run.status() == RunResult.Status.OK || run.status() == RunResult.Status.ERROR;
+    }
+
+    /**
+     * Run a code example and compare it with its documented output
+     */
+    public Check verifyExample(Lesson.CodeExample example) {
+        String documented = example.getOutput();
+        RunResult run = pool.run(example.getCode(), documented != null ? typedInput(documented) : "");
+        if (!run.succeeded()) {
+            return new Check(Check.Verdict.FAILED, run, documented);
+        }
+        if (documented == null || documented.isBlank()) {
+            return new Check(Check.Verdict.NO_REFERENCE, run, null);
+        }
+        return compare(run, TYPED_INPUT.matcher(documented).replaceAll("$1"));
+    }
+
+    private static Check compare(RunResult run, String expected) {
+        boolean same = normalize(run.stdout()).equals(normalize(expected));
+        return new Check(same ? Check.Verdict.PASSED : Check.Verdict.DIFFERENT, run, expected);
+    }
+
+    /**
+     * The "[User types: ...]" values of a documented output, one per line
+     */
+    static String typedInput(String documented) {
+        StringBuilder input = new StringBuilder();
+        Matcher matcher = TYPED_INPUT.matcher(documented);
+        while (matcher.find()) {
+            input.append(matcher.group(1)).append('\n');
+        }
+        return input.toString();
+    }
+
+    static String normalize(String output) {
+        String[] lines = output.replace("\r\n", "\n").split("\n");
+        StringBuilder normalized = new StringBuilder(output.length());
+        for (String line : lines) {
+            normalized.append(line.stripTrailing()).append('\n');
+        }
+        int end = normalized.length();
+        while (end > 0 && normalized.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return normalized.substring(0, end);
+    }
+}
@@ -0,0 +1,173 @@
+package com.pythonlearning.runner;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One long-lived python3 process running worker.py, spoken to over its stdin/stdout.
+ *
+ * The worker enforces the run limits itself; the watchdog here only covers a worker
+ * that stops answering altogether, by killing the whole process. Not thread-safe:
+ * the pool hands a worker to one caller at a time.
+ */
+final class PythonWorker implements AutoCloseable {
+
+    // Time the worker gets past a run's own timeout before it is presumed hung
+    private static final long GRACE_MILLIS = 2_000;
+
+    private final Process process;
+    private final BufferedWriter requests;
+    private final BufferedReader responses;
+    private final Gson gson;
+    private final String version;
+    private final boolean isolated;
+    private long nextId;
+
+    private PythonWorker(Process process, Gson gson) throws IOException {
+        this.process = process;
+        this.gson = gson;
+        this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.responses = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+
+        Hello hello = parse(responses.readLine(), Hello.class);
+        if (hello == null || !hello.ready) {
+            throw new IOException("worker did not start");
+        }
+        this.version = hello.version;
+        this.isolated = hello.isolated;
+    }
+
+    /**
+     * Start a worker and wait for its ready line
+     */
+    static PythonWorker start(String python, String script, Gson gson) throws IOException {
+        Process process = new ProcessBuilder(List.of(python, "-I", "-c", script))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            return new PythonWorker(process, gson);
+        } catch (IOException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    /**
+     * Python version reported by the interpreter, e.g. 3.11.2
+     */
+    String version() {
+        return version;
+    }
+
+    /**
+     * False when the platform has no fork() and runs fall back to one fresh
+     * interpreter each, with a timeout but no CPU or memory limits
+     */
+    boolean isolated() {
+        return isolated;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Run a program and wait for its result
+     *
+     * @throws IOException if the worker died or stopped answering; it is unusable afterwards
+     */
+    RunResult run(String code, String stdin, RunLimits limits, ScheduledExecutorService watchdog) throws IOException {
+        Request request = new Request(++nextId, code, stdin, limits.timeoutMillis(), limits.cpuSeconds(),
+                limits.memoryMb(), limits.maxOutputBytes());
+
+        ScheduledFuture<?> kill = watchdog.schedule(process::destroyForcibly,
+                limits.timeoutMillis() + GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            requests.write(gson.toJson(request));
+            requests.newLine();
+            requests.flush();
+
+            Response response = parse(responses.readLine(), Response.class);
+            if (response == null || response.id != request.id()) {
+                throw new IOException("worker stopped answering");
+            }
+            return new RunResult(response.toStatus(), nullToEmpty(response.stdout), nullToEmpty(response.stderr),
+                    response.exitCode, response.elapsedMs);
+        } finally {
+            kill.cancel(false);
+        }
+    }
+
+    private <T> T parse(String line, Class<T> type) throws IOException {
+        if (line == null) {
+            return null;
+        }
+        try {
+            return gson.fromJson(line, type);
+        } catch (JsonParseException e) {
+            throw new IOException("unreadable worker reply: " + line, e);
+        }
+    }
+
+    private static String nullToEmpty(String text) {
+        return text != null ? text : "";
+    }
+
+    /**
+     * Ask the worker to exit by closing its stdin, then make sure it did
+     */
+    @Override
+    public void close() {
+        try {
+            requests.close();
+            if (!process.waitFor(500, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Request(long id, String code, String stdin, int timeoutMs, int cpuSeconds, int memoryMb,
+                           int maxOutputBytes) {
+    }
+
+    private static class Hello {
+        boolean ready;
+        String version;
+        boolean isolated;
+    }
+
+    private static class Response {
+        long id;
+        String status;
+        String stdout;
+        String stderr;
+        int exitCode;
+        long elapsedMs;
+
+        RunResult.Status toStatus() {
+            return switch (status) {
+                case "ok" -> RunResult.Status.OK;
+                case "timeout" -> RunResult.Status.TIMEOUT;
+                case "cpu_limit" -> RunResult.Status.CPU_LIMIT;
+                case "output_limit" -> RunResult.Status.OUTPUT_LIMIT;
+                default -> RunResult.Status.ERROR;
+            };
+        }
+    }
+}
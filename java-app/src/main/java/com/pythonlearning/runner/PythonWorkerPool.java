@@ -0,0 +1,226 @@
+package com.pythonlearning.runner;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.pythonlearning.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pool of pre-warmed python3 worker processes.
+ *
+ * Starting an interpreter costs 30-50 ms, more than the typical exercise takes to run.
+ * The workers are started in the background when the pool is created, and each run
+ * forks one of them (see worker.py), so a run only pays for the fork. A worker that
+ * dies or hangs is discarded and replaced in the background.
+ *
+ * The interpreter comes from -Dpythonlearning.python (default python3) and the pool
+ * size from -Dpythonlearning.runner.workers. If the interpreter cannot be started, every
+ * run returns {@link RunResult.Status#UNAVAILABLE} instead of failing.
+ */
+public final class PythonWorkerPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PythonWorkerPool.class);
+
+    private static final String WORKER_SCRIPT = "/python/worker.py";
+    private static final int DEFAULT_WORKERS = 2;
+    private static final long POLL_MILLIS = 100;
+
+    private final String python;
+    private final RunLimits limits;
+    private final String script;
+    private final Gson gson = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+
+    private final BlockingQueue<PythonWorker> idle = new LinkedBlockingQueue<>();
+    private final Set<PythonWorker> all = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger starting = new AtomicInteger();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile String version;
+    private volatile String unavailable;
+    private volatile boolean closed;
+
+    /**
+     * Create the pool and start warming its workers in the background
+     */
+    public PythonWorkerPool(String python, int workers, RunLimits limits) {
+        this.python = python;
+        this.limits = limits;
+        this.script = loadScript();
+        for (int i = 0; i < workers; i++) {
+            spawn();
+        }
+    }
+
+    public static PythonWorkerPool fromSystemProperties() {
+        return new PythonWorkerPool(
+                System.getProperty("pythonlearning.python", "python3"),
+                Math.max(1, Integer.getInteger("pythonlearning.runner.workers", DEFAULT_WORKERS)),
+                RunLimits.fromSystemProperties());
+    }
+
+    private static String loadScript() {
+        try (InputStream in = PythonWorkerPool.class.getResourceAsStream(WORKER_SCRIPT)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource " + WORKER_SCRIPT);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + WORKER_SCRIPT, e);
+        }
+    }
+
+    /**
+     * Start one worker on a virtual thread and add it to the idle queue when ready
+     */
+    private void spawn() {
+        if (closed) {
+            return;
+        }
+        starting.incrementAndGet();
+        Thread.ofVirtual().name("python-worker-start").start(() -> {
+            try {
+                PythonWorker worker = PythonWorker.start(python, script, gson);
+                if (version == null) {
+                    version = worker.version();
+                    logger.info("Python {} workers ready ({}){}", version, python,
+                            worker.isolated() ? "" : " without fork(): runs are not resource-limited");
+                }
+                all.add(worker);
+                idle.add(worker);
+                if (closed) {
+                    close();
+                }
+            } catch (IOException e) {
+                unavailable = e.getMessage();
+                logger.warn("Cannot start Python worker '{}': {}", python, e.getMessage());
+            } finally {
+                starting.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Interpreter version, e.g. 3.11.2, or null until the first worker is ready
+     */
+    public String interpreterVersion() {
+        return version;
+    }
+
+    /**
+     * Wait until the first worker is ready
+     *
+     * @return the interpreter version, or null if no worker could be started
+     */
+    public String awaitInterpreterVersion() {
+        try {
+            while (version == null && !closed && !failed()) {
+                Thread.sleep(POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return version;
+    }
+
+    /**
+     * True once every attempt to start a worker has failed
+     */
+    private boolean failed() {
+        return unavailable != null && all.isEmpty() && starting.get() == 0;
+    }
+
+    public RunLimits limits() {
+        return limits;
+    }
+
+    /**
+     * Run a program on the next free worker, waiting for one if all are busy
+     *
+     * @param stdin text the program's input() calls read, one line per call
+     */
+    public RunResult run(String code, String stdin) {
+        long start = System.nanoTime();
+        PythonWorker worker;
+        try {
+            worker = take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RunResult.unavailable("interrupted");
+        }
+        if (worker == null) {
+            return RunResult.unavailable(unavailable != null ? unavailable : "the runner is shut down");
+        }
+
+        try {
+            RunResult result = worker.run(code, stdin, limits, watchdog);
+            idle.add(worker);
+            Metrics.PYTHON_RUN.recordSince(start);
+            return result;
+        } catch (IOException e) {
+            logger.warn("Python worker failed, replacing it: {}", e.getMessage());
+            discard(worker);
+            spawn();
+            return new RunResult(RunResult.Status.ERROR, "", "The Python runner crashed; please try again.",
+                    -1, 0);
+        }
+    }
+
+    /**
+     * Next idle worker, or null if the pool is closed or no worker could be started
+     */
+    private PythonWorker take() throws InterruptedException {
+        while (!closed) {
+            PythonWorker worker = idle.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (worker != null) {
+                if (worker.isAlive()) {
+                    return worker;
+                }
+                discard(worker);
+                spawn();
+            } else if (failed()) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void discard(PythonWorker worker) {
+        all.remove(worker);
+        worker.close();
+    }
+
+    /**
+     * Stop all workers
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PythonWorker worker;
+        while ((worker = idle.poll()) != null) {
+            discard(worker);
+        }
+        // Workers busy with a run are killed outright
+        for (PythonWorker busy : all) {
+            discard(busy);
+        }
+    }
+}
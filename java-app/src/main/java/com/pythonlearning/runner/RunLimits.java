@@ -0,0 +1,26 @@
+package com.pythonlearning.runner;
+
+/**
+ * Resource limits applied to every run of learner code.
+ *
+ * @param timeoutMillis  wall-clock limit; the run is killed when it expires
+ * @param cpuSeconds     CPU time limit (RLIMIT_CPU)
+ * @param memoryMb       address-space limit (RLIMIT_AS)
+ * @param maxOutputBytes stdout plus stderr; the run is killed once it writes more
+ */
+public record RunLimits(int timeoutMillis, int cpuSeconds, int memoryMb, int maxOutputBytes) {
+
+    public static final RunLimits DEFAULT = new RunLimits(5_000, 3, 256, 64 * 1024);
+
+    /**
+     * Defaults, overridable with -Dpythonlearning.runner.timeoutMs, .cpuSeconds,
+     * .memoryMb and .maxOutputBytes
+     */
+    public static RunLimits fromSystemProperties() {
+        return new RunLimits(
+                Integer.getInteger("pythonlearning.runner.timeoutMs", DEFAULT.timeoutMillis),
+                Integer.getInteger("pythonlearning.runner.cpuSeconds", DEFAULT.cpuSeconds),
+                Integer.getInteger("pythonlearning.runner.memoryMb", DEFAULT.memoryMb),
+                Integer.getInteger("pythonlearning.runner.maxOutputBytes", DEFAULT.maxOutputBytes));
+    }
+}
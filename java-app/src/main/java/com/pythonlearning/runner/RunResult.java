@@ -0,0 +1,40 @@
+package com.pythonlearning.runner;
+
+/**
+ * Outcome of running one program
+ *
+ * @param exitCode process exit status; negative for the signal that killed it
+ */
+public record RunResult(Status status, String stdout, String stderr, int exitCode, long elapsedMillis) {
+
+    public enum Status {
+        OK,
+        ERROR,          // non-zero exit, usually an uncaught exception
+        TIMEOUT,
+        CPU_LIMIT,
+        OUTPUT_LIMIT,
+        UNAVAILABLE     // no Python interpreter to run it on
+    }
+
+    static RunResult unavailable(String reason) {
+        return new RunResult(Status.UNAVAILABLE, "", reason, -1, 0);
+    }
+
+    public boolean succeeded() {
+        return status == Status.OK;
+    }
+
+    /**
+     * One-line status for the output pane
+     */
+    public String summary() {
+        return switch (status) {
+            case OK -> "Finished in " + elapsedMillis + " ms";
+            case ERROR -> "Stopped with an error (exit code " + exitCode + ")";
+            case TIMEOUT -> "Stopped: took longer than the time limit";
+            case CPU_LIMIT -> "Stopped: used too much CPU time (is there an endless loop?)";
+            case OUTPUT_LIMIT -> "Stopped: printed too much output";
+            case UNAVAILABLE -> "Python is not available: " + stderr;
+        };
+    }
+}
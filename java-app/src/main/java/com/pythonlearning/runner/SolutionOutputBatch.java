@@ -0,0 +1,115 @@
+package com.pythonlearning.runner;
+
+import com.pythonlearning.database.ProgressDatabase;
+import com.pythonlearning.database.SolutionOutputStore;
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Module;
+import com.pythonlearning.util.ContentLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Batch job that runs every lesson solution in the course and stores what it prints in
+ * the {@link SolutionOutputStore}, so Check only has to run the learner's code.
+ *
+ * Solutions are run without program input, which is what Check uses when the learner
+ * has not typed any. Once every solution of a content pack has been cached for the
+ * current interpreter, a marker entry keyed by the pack's fingerprint is stored, so later
+ * launches cost a single lookup and read no lessons. Without a pack (content read from
+ * JSON, e.g. in dev mode) each lesson is read and looked up instead.
+ *
+ * Missing solutions are run one at a time, so the batch never holds more than one of the
+ * pool's workers and the learner's own Run and Check find a free worker.
+ *
+ * The application runs it in the background at startup. It can also be run on its own
+ * to fill a database ahead of time, e.g. for a classroom image:
+ * SolutionOutputBatch (with the usual -Dpythonlearning.db.path and -Dpythonlearning.python)
+ */
+public final class SolutionOutputBatch {
+    private static final Logger logger = LoggerFactory.getLogger(SolutionOutputBatch.class);
+
+    private static final String NO_INPUT = "";
+
+    // Code of the marker entry; never a real solution, as it is a Python comment
+    private static final String COMPLETE_MARKER = "# all solution outputs of content ";
+
+    private SolutionOutputBatch() {
+    }
+
+    public static void main(String[] args) {
+        try (ProgressDatabase database = ProgressDatabase.open();
+             PythonWorkerPool pool = PythonWorkerPool.fromSystemProperties()) {
+            populate(pool, database.solutionOutputs());
+        }
+    }
+
+    /**
+     * Run and store every solution not yet cached for the pool's interpreter
+     *
+     * @return number of solutions run
+     */
+    public static int populate(PythonWorkerPool pool, SolutionOutputStore store) {
+        long start = System.nanoTime();
+
+        String version = pool.awaitInterpreterVersion();
+        if (version == null) {
+            logger.warn("Solution outputs not precomputed: Python is not available");
+            return 0;
+        }
+
+        String fingerprint = ContentLoader.getContentFingerprint();
+        String marker = fingerprint != null ? COMPLETE_MARKER + fingerprint : null;
+        if (marker != null && store.get(marker, NO_INPUT, version).isPresent()) {
+            logger.info("Solution outputs up to date (content {}, Python {})", fingerprint, version);
+            return 0;
+        }
+
+        // Distinct solutions; several lessons may share one
+        Set<String> solutions = new LinkedHashSet<>();
+        for (Module module : ContentLoader.getAllModules()) {
+            for (int lessonId = 1; lessonId <= module.getLessons(); lessonId++) {
+                Lesson lesson = ContentLoader.readLessonUncached(module.getId(), lessonId);
+                if (lesson != null && lesson.getSolution() != null && lesson.getSolution().getCode() != null
+                        && !lesson.getSolution().getCode().isBlank()) {
+                    solutions.add(lesson.getSolution().getCode());
+                }
+            }
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String code : solutions) {
+            if (store.get(code, NO_INPUT, version).isEmpty()) {
+                missing.add(code);
+            }
+        }
+
+        List<SolutionOutputStore.Entry> entries = new ArrayList<>(missing.size() + 1);
+        for (String code : missing) {
+            if (Thread.currentThread().isInterrupted()) {
+                return 0;
+            }
+            RunResult result = pool.run(code, NO_INPUT);
+            if (ExerciseRunner.isCacheable(result)) {
+                entries.add(new SolutionOutputStore.Entry(code, NO_INPUT, version,
+                        new SolutionOutputStore.Output(result.succeeded(), result.stdout())));
+            }
+        }
+
+        // Only a complete batch is marked; otherwise the next launch retries what is missing
+        if (marker != null && entries.size() == missing.size()) {
+            entries.add(new SolutionOutputStore.Entry(marker, NO_INPUT, version,
+                    new SolutionOutputStore.Output(true, Integer.toString(solutions.size()))));
+        }
+        store.putAll(entries);
+
+        logger.info("Precomputed {} of {} missing solution outputs ({} solutions) with Python {} in {} ms",
+                Math.min(entries.size(), missing.size()), missing.size(), solutions.size(), version,
+                (System.nanoTime() - start) / 1_000_000);
+        return missing.size();
+    }
+}
@@ -0,0 +1,208 @@
+package com.pythonlearning.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, size-bounded LRU cache for parsed course content.
+ *
+ * Every entry carries a weight (the byte size of the JSON it was parsed from).
+ * When the total weight exceeds the configured limit, the least recently used
+ * entries are evicted. Concurrent requests for the same key share a single load,
+ * so a UI request never re-parses a lesson the prefetcher is already reading.
+ *
+ * Invalidating a key bumps its generation. A load that started before that neither
+ * stores its result nor hands it to requests that arrive afterwards, so a hot reload
+ * never gets the old version of a changed file back.
+ */
+public class ContentCache<K, V> {
+
+    /**
+     * Loads a value for a key, or returns null if the content does not exist
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        Weighted<V> load(K key);
+    }
+
+    /**
+     * A loaded value together with its cache weight in bytes
+     */
+    public record Weighted<V>(V value, long weight) {}
+
+    private final String name;
+    private final long maxWeight;
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, Long> generations = new HashMap<>();
+    private long allGeneration;
+    private long currentWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder prefetches = new LongAdder();
+
+    public ContentCache(String name, long maxWeight) {
+        this.name = name;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Get a value from the cache, loading it on a miss
+     */
+    public V get(K key, Loader<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        return load(key, loader);
+    }
+
+    /**
+     * Load a value into the cache ahead of time. Does not count as a hit or miss.
+     */
+    public void prefetch(K key, Loader<K, V> loader) {
+        if (contains(key)) {
+            return;
+        }
+        prefetches.increment();
+        load(key, loader);
+    }
+
+    /**
+     * Remove a single entry, e.g. after its source changed
+     */
+    public synchronized void invalidate(K key) {
+        Weighted<V> removed = entries.remove(key);
+        if (removed != null) {
+            currentWeight -= removed.weight();
+        }
+        generations.merge(key, 1L, Long::sum);
+        inFlight.remove(key);
+    }
+
+    /**
+     * Remove all entries
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        currentWeight = 0;
+        allGeneration++;
+        inFlight.clear();
+    }
+
+    /**
+     * Snapshot of the cache counters
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), prefetches.sum(),
+                entries.size(), currentWeight, maxWeight);
+    }
+
+    private synchronized V getIfPresent(K key) {
+        Weighted<V> entry = entries.get(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    private synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    // Both counters only grow, so the sum changes whenever the key is invalidated
+    private synchronized long generation(K key) {
+        return allGeneration + generations.getOrDefault(key, 0L);
+    }
+
+    private V load(K key, Loader<K, V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        long generation;
+        while (true) {
+            CompletableFuture<V> existing;
+            synchronized (this) {
+                generation = generation(key);
+                existing = inFlight.putIfAbsent(key, future);
+            }
+            if (existing == null) {
+                break;
+            }
+            // Another thread is already parsing this entry; wait for its result,
+            // and load again if the entry was invalidated in the meantime
+            V value = existing.join();
+            if (generation(key) == generation) {
+                return value;
+            }
+        }
+
+        try {
+            Weighted<V> loaded = loader.load(key);
+            V value = null;
+            if (loaded != null && loaded.value() != null) {
+                value = loaded.value();
+                put(key, loaded, generation);
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private synchronized void put(K key, Weighted<V> entry, long generation) {
+        if (entry.weight() > maxWeight || generation(key) != generation) {
+            // Larger than the whole cache, or read before the key was invalidated:
+            // serve it, but don't keep it
+            return;
+        }
+
+        Weighted<V> previous = entries.put(key, entry);
+        if (previous != null) {
+            currentWeight -= previous.weight();
+        }
+        currentWeight += entry.weight();
+
+        Iterator<Map.Entry<K, Weighted<V>>> it = entries.entrySet().iterator();
+        while (currentWeight > maxWeight && it.hasNext()) {
+            Map.Entry<K, Weighted<V>> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            currentWeight -= eldest.getValue().weight();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Immutable snapshot of cache counters, used to tune cache sizes
+     */
+    public record CacheStats(String name, long hits, long misses, long evictions, long prefetches,
+                             int entries, long weightBytes, long maxWeightBytes) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, " +
+                            "%d prefetches, %d entries, %d/%d KB",
+                    name, hits, misses, hitRate() * 100, evictions, prefetches, entries,
+                    weightBytes / 1024, maxWeightBytes / 1024);
+        }
+    }
+}
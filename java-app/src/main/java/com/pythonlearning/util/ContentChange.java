@@ -0,0 +1,22 @@
+package com.pythonlearning.util;
+
+/**
+ * A lesson or quiz file that was created, edited or deleted in the watched content
+ * directory (dev mode, see {@link ContentLoader#watchContent})
+ *
+ * @param lessonId lesson number, 0 for the module's quiz
+ */
+public record ContentChange(int moduleId, int lessonId) {
+
+    public static ContentChange lesson(int moduleId, int lessonId) {
+        return new ContentChange(moduleId, lessonId);
+    }
+
+    public static ContentChange quiz(int moduleId) {
+        return new ContentChange(moduleId, 0);
+    }
+
+    public boolean isQuiz() {
+        return lessonId == 0;
+    }
+}
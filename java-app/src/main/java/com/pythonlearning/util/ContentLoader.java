@@ -1,27 +1,82 @@
 package com.pythonlearning.util;
 
+import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.pythonlearning.metrics.Metrics;
 import com.pythonlearning.model.Lesson;
 import com.pythonlearning.model.Module;
 import com.pythonlearning.model.Quiz;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Utility class for loading lesson and quiz content from JSON files.
  * This class handles all content parsing and provides access to course materials.
+ *
+ * Content normally comes from the classpath (the content pack, or the JSON resources).
+ * For authoring, -Dpythonlearning.content.dir=../content reads the JSON straight from
+ * that directory instead, and {@link #watchContent} applies edits as they are saved.
  */
 public class ContentLoader {
     private static final Logger logger = LoggerFactory.getLogger(ContentLoader.class);
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    static final Gson gson = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+    private static final LessonReader lessonReader = new LessonReader(gson);
+
+    // Cache limits in bytes of source JSON; override with -Dpythonlearning.cache.lessons.maxBytes=...
+    private static final long LESSON_CACHE_BYTES = Long.getLong("pythonlearning.cache.lessons.maxBytes", 1024 * 1024);
+    private static final long QUIZ_CACHE_BYTES = Long.getLong("pythonlearning.cache.quizzes.maxBytes", 256 * 1024);
+
+    private static final ContentCache<String, Lesson> lessonCache = new ContentCache<>("Lesson", LESSON_CACHE_BYTES);
+    private static final ContentCache<String, Quiz> quizCache = new ContentCache<>("Quiz", QUIZ_CACHE_BYTES);
+
+    private static final String CONTENT_PREFIX = "/content/";
+
+    // Dev mode: directory laid out like /content to read JSON from; null = classpath
+    private static final Path contentDir = System.getProperty("pythonlearning.content.dir") != null
+            ? Path.of(System.getProperty("pythonlearning.content.dir")).toAbsolutePath().normalize() : null;
+
+    // Precompiled binary pack; null when running from plain JSON resources or a content directory.
+    // Disable with -Dpythonlearning.content.pack=false to force JSON parsing.
+    private static final ContentPack contentPack = contentDir == null &&
+            Boolean.parseBoolean(System.getProperty("pythonlearning.content.pack", "true")) ? ContentPack.open() : null;
+
+    // Watches contentDir once watchContent has been called
+    private static ContentWatcher contentWatcher;
+
+    // Title/section index over all lessons, built on first use
+    private static volatile LessonIndex lessonIndex;
+
+    // Full-text index, read from the build output or built from the content on first use
+    private static volatile SearchIndex searchIndex;
+
+    // Single low-priority daemon thread that warms the cache off the UI thread
+    private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-prefetch");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
 
     // Course structure matching app.py
     private static final List<Module> COURSE_MODULES = new ArrayList<>();
@@ -62,74 +117,352 @@ public class ContentLoader {
     }
 
     /**
-     * Load a lesson from JSON file
+     * Load a lesson, from the cache if it has been loaded before
      *
      * @param moduleId Module number (1-14)
      * @param lessonId Lesson number (1-N)
      * @return Lesson object or null if not found
      */
     public static Lesson loadLesson(int moduleId, int lessonId) {
-        String path = String.format("/content/modules/module_%02d/lesson_%02d.json", moduleId, lessonId);
+        long start = System.nanoTime();
+        Lesson lesson = lessonCache.get(lessonPath(moduleId, lessonId), path -> readLesson(moduleId, lessonId, path));
+        Metrics.LESSON_LOAD.recordSince(start);
+        return lesson;
+    }
 
-        try (InputStream is = ContentLoader.class.getResourceAsStream(path)) {
-            if (is == null) {
-                logger.warn("Lesson not found: {}", path);
-                return null;
+    /**
+     * Load a quiz, from the cache if it has been loaded before
+     *
+     * @param moduleId Module number (1-14)
+     * @return Quiz object or null if not found
+     */
+    public static Quiz loadQuiz(int moduleId) {
+        return quizCache.get(quizPath(moduleId), path -> readQuiz(moduleId, path));
+    }
+
+    /**
+     * Warm the cache with the lessons around the given one on a background thread:
+     * the previous and next lesson (crossing module boundaries) and the first
+     * lesson of the next module.
+     */
+    public static void prefetchAround(int moduleId, int lessonId) {
+        Module module = getModule(moduleId);
+        if (module == null) {
+            return;
+        }
+
+        List<int[]> neighbours = new ArrayList<>(3);
+        if (lessonId < module.getLessons()) {
+            neighbours.add(new int[]{moduleId, lessonId + 1});
+        }
+        if (lessonId > 1) {
+            neighbours.add(new int[]{moduleId, lessonId - 1});
+        } else if (moduleId > 1) {
+            neighbours.add(new int[]{moduleId - 1, getModule(moduleId - 1).getLessons()});
+        }
+        if (moduleId < COURSE_MODULES.size()) {
+            neighbours.add(new int[]{moduleId + 1, 1});
+        }
+
+        for (int[] lesson : neighbours) {
+            prefetcher.execute(() -> lessonCache.prefetch(lessonPath(lesson[0], lesson[1]),
+                    path -> readLesson(lesson[0], lesson[1], path)));
+        }
+    }
+
+    /**
+     * Get lesson cache counters (hits, misses, evictions) for tuning the cache size
+     */
+    public static ContentCache.CacheStats getLessonCacheStats() {
+        return lessonCache.stats();
+    }
+
+    /**
+     * Get quiz cache counters (hits, misses, evictions) for tuning the cache size
+     */
+    public static ContentCache.CacheStats getQuizCacheStats() {
+        return quizCache.stats();
+    }
+
+    /**
+     * Stop the prefetch thread and the content watcher
+     */
+    public static void shutdown() {
+        prefetcher.shutdownNow();
+        synchronized (ContentLoader.class) {
+            if (contentWatcher != null) {
+                try {
+                    contentWatcher.close();
+                } catch (IOException e) {
+                    logger.warn("Error closing content watcher: {}", e.getMessage());
+                }
+                contentWatcher = null;
             }
+        }
+    }
+
+    /**
+     * Directory content is read from in dev mode, or null when it comes from the classpath
+     */
+    public static Path getContentDir() {
+        return contentDir;
+    }
+
+    /**
+     * Dev mode: watch the content directory and apply edits as they are saved.
+     *
+     * For each settled batch of changed files, only those files are read and parsed
+     * again; their lesson or quiz cache entries, rendered sections, lesson index entries
+     * and search documents are replaced, and then the listener is told what changed.
+     *
+     * @param listener called on the watch thread after a batch has been applied
+     * @return false if content comes from the classpath, so there is nothing to watch
+     */
+    public static synchronized boolean watchContent(Consumer<Set<ContentChange>> listener) {
+        if (contentDir == null || contentWatcher != null) {
+            return contentWatcher != null;
+        }
+        try {
+            contentWatcher = ContentWatcher.start(contentDir, changes -> {
+                applyChanges(changes);
+                listener.accept(changes);
+            });
+            return true;
+        } catch (IOException e) {
+            logger.error("Could not watch content directory {}: {}", contentDir, e.getMessage(), e);
+            return false;
+        }
+    }
 
-            Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
-            Lesson lesson = gson.fromJson(reader, Lesson.class);
+    /**
+     * Re-read the changed lessons and quizzes and replace everything derived from them.
+     * A file that no longer parses (e.g. saved halfway through an edit) keeps its previous
+     * index entries until it is fixed; a deleted file loses them.
+     */
+    static void applyChanges(Set<ContentChange> changes) {
+        long start = System.nanoTime();
+        List<ContentChange> sorted = changes.stream()
+                .filter(change -> getModule(change.moduleId()) != null)
+                .sorted(Comparator.comparing(ContentChange::isQuiz)
+                        .thenComparingInt(ContentChange::moduleId)
+                        .thenComparingInt(ContentChange::lessonId))
+                .toList();
 
-            logger.info("Loaded lesson: Module {} Lesson {} - {}", moduleId, lessonId, lesson.getTitle());
-            return lesson;
+        Set<ContentChange> reindexed = new HashSet<>();
+        SearchIndex.Builder documents = SearchIndex.builder();
+        for (ContentChange change : sorted) {
+            int moduleId = change.moduleId();
+            if (change.isQuiz()) {
+                String path = quizPath(moduleId);
+                quizCache.invalidate(path);
+                boolean deleted = !contentExists(path);
+                Quiz quiz = deleted ? null : loadQuiz(moduleId);
+                if (quiz != null) {
+                    documents.addQuiz(moduleId, quiz);
+                }
+                if (deleted || quiz != null) {
+                    reindexed.add(change);
+                }
+                continue;
+            }
 
+            int lessonId = change.lessonId();
+            if (lessonId > getModule(moduleId).getLessons()) {
+                logger.warn("Ignoring {}: module {} has {} lessons", lessonPath(moduleId, lessonId),
+                        moduleId, getModule(moduleId).getLessons());
+                continue;
+            }
+            String path = lessonPath(moduleId, lessonId);
+            lessonCache.invalidate(path);
+            SectionRenderer.invalidate(moduleId, lessonId);
+
+            byte[] json = readResource(path);
+            Lesson lesson = json != null ? loadLesson(moduleId, lessonId) : null;
+            if (json == null || lesson != null) {
+                updateLessonIndex(moduleId, lessonId, json != null ? LessonIndex.createEntry(moduleId, lessonId, json) : null);
+                if (lesson != null) {
+                    documents.addLesson(moduleId, lessonId, lesson);
+                }
+                reindexed.add(change);
+            }
+        }
+
+        synchronized (ContentLoader.class) {
+            if (searchIndex != null && !reindexed.isEmpty()) {
+                searchIndex = searchIndex.replace(document -> reindexed.contains(
+                        document.kind() == SearchIndex.Document.Kind.LESSON
+                                ? ContentChange.lesson(document.moduleId(), document.lessonId())
+                                : ContentChange.quiz(document.moduleId())), documents);
+            }
+        }
+        logger.info("Reloaded {} of {} changed content files in {} ms", reindexed.size(), sorted.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static synchronized void updateLessonIndex(int moduleId, int lessonId, LessonIndex.Entry entry) {
+        if (lessonIndex != null) {
+            lessonIndex = lessonIndex.with(moduleId, lessonId, entry);
+        }
+    }
+
+    /**
+     * Read a lesson from the content pack if present, otherwise from its JSON resource
+     */
+    private static ContentCache.Weighted<Lesson> readLesson(int moduleId, int lessonId, String path) {
+        long start = System.nanoTime();
+        try {
+            if (contentPack != null && contentPack.hasLesson(moduleId, lessonId)) {
+                Lesson lesson = contentPack.readLesson(moduleId, lessonId);
+                logger.debug("Loaded lesson: {} - {} (pack)", path, lesson.getTitle());
+                return new ContentCache.Weighted<>(lesson, contentPack.lessonSourceBytes(moduleId, lessonId));
+            }
+            return parseLesson(path);
+        } finally {
+            Metrics.LESSON_PARSE.recordSince(start);
+        }
+    }
+
+    /**
+     * Read a quiz from the content pack if present, otherwise from its JSON resource
+     */
+    private static ContentCache.Weighted<Quiz> readQuiz(int moduleId, String path) {
+        long start = System.nanoTime();
+        try {
+            if (contentPack != null) {
+                Quiz quiz = contentPack.readQuiz(moduleId);
+                if (quiz != null) {
+                    logger.debug("Loaded quiz: {} - {} (pack)", path, quiz.getTitle());
+                    return new ContentCache.Weighted<>(quiz, contentPack.quizSourceBytes(moduleId));
+                }
+            }
+            return parseQuiz(path);
+        } finally {
+            Metrics.QUIZ_PARSE.recordSince(start);
+        }
+    }
+
+    /**
+     * Read a lesson without touching the lesson cache (for bulk indexing and batch jobs)
+     */
+    public static Lesson readLessonUncached(int moduleId, int lessonId) {
+        ContentCache.Weighted<Lesson> lesson = readLesson(moduleId, lessonId, lessonPath(moduleId, lessonId));
+        return lesson != null ? lesson.value() : null;
+    }
+
+    /**
+     * Read a quiz without touching the quiz cache (for bulk indexing and benchmarks)
+     */
+    public static Quiz readQuizUncached(int moduleId) {
+        ContentCache.Weighted<Quiz> quiz = readQuiz(moduleId, quizPath(moduleId));
+        return quiz != null ? quiz.value() : null;
+    }
+
+    /**
+     * Parse a lesson JSON resource; the cache weight is the resource size in bytes
+     */
+    private static ContentCache.Weighted<Lesson> parseLesson(String path) {
+        byte[] json = readResource(path);
+        if (json == null) {
+            logger.warn("Lesson not found: {}", path);
+            return null;
+        }
+
+        try {
+            Lesson lesson = lessonReader.read(json);
+            logger.debug("Loaded lesson: {} - {}", path, lesson.getTitle());
+            return new ContentCache.Weighted<>(lesson, json.length);
         } catch (Exception e) {
+            Metrics.CONTENT_ERRORS.increment();
             logger.error("Error loading lesson from {}: {}", path, e.getMessage());
             return null;
         }
     }
 
     /**
-     * Load a quiz from JSON file
-     *
-     * @param moduleId Module number (1-14)
-     * @return Quiz object or null if not found
+     * Parse a quiz JSON resource; the cache weight is the resource size in bytes
      */
-    public static Quiz loadQuiz(int moduleId) {
-        String path = String.format("/content/quizzes/quiz_%02d.json", moduleId);
-
-        try (InputStream is = ContentLoader.class.getResourceAsStream(path)) {
-            if (is == null) {
-                logger.warn("Quiz not found: {}", path);
-                return null;
-            }
+    private static ContentCache.Weighted<Quiz> parseQuiz(String path) {
+        byte[] json = readResource(path);
+        if (json == null) {
+            logger.warn("Quiz not found: {}", path);
+            return null;
+        }
 
-            Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
             Quiz quiz = gson.fromJson(reader, Quiz.class);
+            logger.debug("Loaded quiz: {} - {}", path, quiz.getTitle());
+            return new ContentCache.Weighted<>(quiz, json.length);
+        } catch (Exception e) {
+            Metrics.CONTENT_ERRORS.increment();
+            logger.error("Error loading quiz from {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
 
-            logger.info("Loaded quiz: Module {} - {}", moduleId, quiz.getTitle());
-            return quiz;
+    /**
+     * Read a classpath resource fully, or return null if it does not exist. Content
+     * resources are read from the content directory in dev mode.
+     */
+    static byte[] readResource(String path) {
+        if (contentDir != null && path.startsWith(CONTENT_PREFIX)) {
+            try {
+                return Files.readAllBytes(contentFile(path));
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (Exception e) {
+                logger.error("Error reading {}: {}", path, e.getMessage());
+                return null;
+            }
+        }
 
+        try (InputStream is = ContentLoader.class.getResourceAsStream(path)) {
+            return is != null ? is.readAllBytes() : null;
         } catch (Exception e) {
-            logger.error("Error loading quiz from {}: {}", path, e.getMessage());
+            logger.error("Error reading {}: {}", path, e.getMessage());
             return null;
         }
     }
 
+    private static Path contentFile(String path) {
+        return contentDir.resolve(path.substring(CONTENT_PREFIX.length()));
+    }
+
+    private static boolean contentExists(String path) {
+        if (contentDir != null && path.startsWith(CONTENT_PREFIX)) {
+            return Files.isRegularFile(contentFile(path));
+        }
+        return ContentLoader.class.getResource(path) != null;
+    }
+
+    static String lessonPath(int moduleId, int lessonId) {
+        return String.format("/content/modules/module_%02d/lesson_%02d.json", moduleId, lessonId);
+    }
+
+    private static String quizPath(int moduleId) {
+        return String.format("/content/quizzes/quiz_%02d.json", moduleId);
+    }
+
     /**
      * Check if a lesson exists
      */
     public static boolean lessonExists(int moduleId, int lessonId) {
-        String path = String.format("/content/modules/module_%02d/lesson_%02d.json", moduleId, lessonId);
-        return ContentLoader.class.getResource(path) != null;
+        return contentExists(lessonPath(moduleId, lessonId));
     }
 
     /**
      * Check if a quiz exists
      */
     public static boolean quizExists(int moduleId) {
-        String path = String.format("/content/quizzes/quiz_%02d.json", moduleId);
-        return ContentLoader.class.getResource(path) != null;
+        return contentExists(quizPath(moduleId));
+    }
+
+    /**
+     * Fingerprint of the course content, for caches derived from all of it
+     *
+     * @return the content pack's checksum, or null when content is read from JSON
+     */
+    public static String getContentFingerprint() {
+        return contentPack != null ? contentPack.fingerprint() : null;
     }
 
     /**
@@ -141,11 +474,68 @@ public class ContentLoader {
                 .sum();
     }
 
+    /**
+     * Get the lesson metadata index, building it on first use
+     */
+    public static LessonIndex getLessonIndex() {
+        LessonIndex index = lessonIndex;
+        if (index == null) {
+            synchronized (ContentLoader.class) {
+                index = lessonIndex;
+                if (index == null) {
+                    index = LessonIndex.build(COURSE_MODULES, contentPack);
+                    lessonIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Get the full-text search index, reading the prebuilt index if the build produced
+     * one and otherwise indexing every lesson and quiz. The first call can take a few
+     * hundred milliseconds, so make it off the FX thread.
+     */
+    public static SearchIndex getSearchIndex() {
+        SearchIndex index = searchIndex;
+        if (index == null) {
+            synchronized (ContentLoader.class) {
+                index = searchIndex;
+                if (index == null) {
+                    index = readSearchIndex();
+                    if (index == null) {
+                        index = SearchIndex.build(COURSE_MODULES);
+                    }
+                    searchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private static SearchIndex readSearchIndex() {
+        byte[] data = readResource(SearchIndex.RESOURCE_PATH);
+        if (data == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            SearchIndex index = SearchIndex.read(data);
+            logger.info("Read search index: {} documents, {} terms in {} ms",
+                    index.size(), index.termCount(), (System.nanoTime() - start) / 1_000_000);
+            return index;
+        } catch (Exception e) {
+            logger.warn("Could not read search index, rebuilding it: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Get lesson title without loading full content
      */
     public static String getLessonTitle(int moduleId, int lessonId) {
-        Lesson lesson = loadLesson(moduleId, lessonId);
-        return lesson != null ? lesson.getTitle() : "Unknown Lesson";
+        LessonIndex.Entry entry = getLessonIndex().get(moduleId, lessonId);
+        return entry != null ? entry.title() : "Unknown Lesson";
     }
 }
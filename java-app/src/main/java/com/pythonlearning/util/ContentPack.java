@@ -0,0 +1,281 @@
+package com.pythonlearning.util;
+
+import com.pythonlearning.model.LazySection;
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Quiz;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only view of the precompiled binary content pack.
+ *
+ * The pack is produced at build time by {@link ContentPackCompiler} and holds every
+ * lesson and quiz as fixed-layout records that reference a shared, deduplicated
+ * string table. Strings are only decoded when a field is read, so opening the pack
+ * costs a single map (or read) of one file instead of parsing ~94 JSON documents.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header   : magic, version, lessonCount, quizCount, stringCount,
+ *            lessonTableOffset, quizTableOffset, stringTableOffset, blobOffset
+ * lessons  : lessonCount x (moduleId, lessonId, recordOffset, sourceBytes)
+ * quizzes  : quizCount x (moduleId, recordOffset, sourceBytes)
+ * strings  : stringCount x (blobOffset, byteLength)
+ * blob     : UTF-8 bytes of all unique strings
+ * records  : lesson and quiz records, made of int string references (-1 = null)
+ * </pre>
+ */
+public class ContentPack {
+    private static final Logger logger = LoggerFactory.getLogger(ContentPack.class);
+
+    public static final String RESOURCE_PATH = "/content/content.pack";
+    static final int MAGIC = 0x5059504B;    // "PYPK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 9 * Integer.BYTES;
+
+    // Lesson record flags
+    static final int HAS_CODE_EXAMPLE = 1;
+    static final int HAS_EXERCISE = 2;
+    static final int HAS_SOLUTION = 4;
+
+    // Quiz answer kinds
+    static final int ANSWER_NONE = 0;
+    static final int ANSWER_NUMBER = 1;
+    static final int ANSWER_STRING = 2;
+    static final int ANSWER_BOOLEAN = 3;
+
+    private final ByteBuffer buffer;
+    private final int stringTableOffset;
+    private final int blobOffset;
+    private final Map<Integer, int[]> lessons = new HashMap<>();    // key -> {recordOffset, sourceBytes}
+    private final Map<Integer, int[]> quizzes = new HashMap<>();
+
+    ContentPack(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a content pack (version " + VERSION + ")");
+        }
+
+        int lessonCount = buffer.getInt(8);
+        int quizCount = buffer.getInt(12);
+        int lessonTable = buffer.getInt(20);
+        int quizTable = buffer.getInt(24);
+        this.stringTableOffset = buffer.getInt(28);
+        this.blobOffset = buffer.getInt(32);
+
+        for (int i = 0; i < lessonCount; i++) {
+            int pos = lessonTable + i * 4 * Integer.BYTES;
+            lessons.put(key(buffer.getInt(pos), buffer.getInt(pos + 4)),
+                    new int[]{buffer.getInt(pos + 8), buffer.getInt(pos + 12)});
+        }
+        for (int i = 0; i < quizCount; i++) {
+            int pos = quizTable + i * 3 * Integer.BYTES;
+            quizzes.put(key(buffer.getInt(pos), 0), new int[]{buffer.getInt(pos + 4), buffer.getInt(pos + 8)});
+        }
+    }
+
+    /**
+     * Open the content pack from the classpath, or return null if it was not built.
+     * A pack on the filesystem is memory-mapped; one inside a jar is read once into memory.
+     */
+    public static ContentPack open() {
+        URL url = ContentPack.class.getResource(RESOURCE_PATH);
+        if (url == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            ByteBuffer buffer;
+            if ("file".equals(url.getProtocol())) {
+                try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            } else {
+                try (InputStream is = url.openStream()) {
+                    buffer = ByteBuffer.wrap(is.readAllBytes());
+                }
+            }
+
+            ContentPack pack = new ContentPack(buffer);
+            logger.info("Opened content pack: {} lessons, {} quizzes, {} KB in {} ms",
+                    pack.lessons.size(), pack.quizzes.size(), buffer.capacity() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+            return pack;
+
+        } catch (Exception e) {
+            logger.warn("Could not open content pack, falling back to JSON: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Check if the pack contains a lesson
+     */
+    public boolean hasLesson(int moduleId, int lessonId) {
+        return lessons.containsKey(key(moduleId, lessonId));
+    }
+
+    /**
+     * Size of the JSON the lesson was compiled from, used as its cache weight
+     */
+    public int lessonSourceBytes(int moduleId, int lessonId) {
+        int[] entry = lessons.get(key(moduleId, lessonId));
+        return entry != null ? entry[1] : 0;
+    }
+
+    /**
+     * Checksum of the whole pack, which changes whenever any lesson or quiz does
+     */
+    public String fingerprint() {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().clear());
+        return Integer.toHexString(buffer.capacity()) + "-" + Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Size of the JSON the quiz was compiled from, used as its cache weight
+     */
+    public int quizSourceBytes(int moduleId) {
+        int[] entry = quizzes.get(key(moduleId, 0));
+        return entry != null ? entry[1] : 0;
+    }
+
+    /**
+     * Get a lesson title without decoding the rest of the record
+     */
+    public String lessonTitle(int moduleId, int lessonId) {
+        int[] entry = lessons.get(key(moduleId, lessonId));
+        return entry != null ? stringAt(entry[0] + 4) : null;
+    }
+
+    /**
+     * Get a lesson's estimated time without decoding the rest of the record
+     */
+    public String lessonEstimatedTime(int moduleId, int lessonId) {
+        int[] entry = lessons.get(key(moduleId, lessonId));
+        return entry != null ? stringAt(entry[0] + 8) : null;
+    }
+
+    /**
+     * Read a lesson record. Sections below the first screen are decoded on first access.
+     *
+     * @return Lesson object or null if the pack has no such lesson
+     */
+    public Lesson readLesson(int moduleId, int lessonId) {
+        int[] entry = lessons.get(key(moduleId, lessonId));
+        if (entry == null) {
+            return null;
+        }
+
+        int pos = entry[0];
+        int flags = buffer.getInt(pos);
+
+        Lesson lesson = new Lesson();
+        lesson.setTitle(stringAt(pos + 4));
+        lesson.setEstimatedTime(stringAt(pos + 8));
+        lesson.setConcept(stringAt(pos + 12));
+        if ((flags & HAS_CODE_EXAMPLE) != 0) {
+            lesson.setCodeExample(new Lesson.CodeExample(stringAt(pos + 16), stringAt(pos + 20), stringAt(pos + 24)));
+        }
+
+        lesson.deferSyntaxBreakdown(new LazySection<>(() -> stringAt(pos + 28)));
+        lesson.deferExercise(new LazySection<>(() -> (flags & HAS_EXERCISE) == 0 ? null
+                : new Lesson.Exercise(stringAt(pos + 32), stringAt(pos + 36), stringAt(pos + 40))));
+        lesson.deferSolution(new LazySection<>(() -> (flags & HAS_SOLUTION) == 0 ? null
+                : new Lesson.Solution(stringAt(pos + 44), stringAt(pos + 48), stringAt(pos + 52))));
+        lesson.deferKeyTakeaways(new LazySection<>(() -> stringAt(pos + 56)));
+
+        return lesson;
+    }
+
+    /**
+     * Read a quiz record
+     *
+     * @return Quiz object or null if the pack has no such quiz
+     */
+    public Quiz readQuiz(int moduleId) {
+        int[] entry = quizzes.get(key(moduleId, 0));
+        if (entry == null) {
+            return null;
+        }
+
+        int pos = entry[0];
+        Quiz quiz = new Quiz();
+        quiz.setTitle(stringAt(pos));
+        quiz.setDescription(stringAt(pos + 4));
+        quiz.setEstimatedTime(stringAt(pos + 8));
+        quiz.setPassingScore(buffer.getInt(pos + 12));
+
+        int questionCount = buffer.getInt(pos + 16);
+        pos += 20;
+
+        List<Quiz.Question> questions = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            Quiz.Question question = new Quiz.Question();
+            question.setQuestion(stringAt(pos));
+            question.setType(stringAt(pos + 4));
+            question.setExplanation(stringAt(pos + 8));
+            question.setCode(stringAt(pos + 12));
+
+            int answerKind = buffer.getInt(pos + 16);
+            long answer = buffer.getLong(pos + 20);
+            question.setCorrectAnswer(switch (answerKind) {
+                case ANSWER_NUMBER -> Double.longBitsToDouble(answer);
+                case ANSWER_STRING -> string((int) answer);
+                case ANSWER_BOOLEAN -> answer != 0;
+                default -> null;
+            });
+
+            int optionCount = buffer.getInt(pos + 28);
+            pos += 32;
+            if (optionCount >= 0) {
+                List<String> options = new ArrayList<>(optionCount);
+                for (int o = 0; o < optionCount; o++) {
+                    options.add(stringAt(pos));
+                    pos += 4;
+                }
+                question.setOptions(options);
+            }
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+
+        return quiz;
+    }
+
+    /**
+     * Decode the string whose reference is stored at the given record position
+     */
+    private String stringAt(int pos) {
+        return string(buffer.getInt(pos));
+    }
+
+    private String string(int ref) {
+        if (ref < 0) {
+            return null;
+        }
+        int entry = stringTableOffset + ref * 2 * Integer.BYTES;
+        byte[] bytes = new byte[buffer.getInt(entry + 4)];
+        buffer.get(blobOffset + buffer.getInt(entry), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int key(int moduleId, int lessonId) {
+        return moduleId * 1000 + lessonId;
+    }
+}
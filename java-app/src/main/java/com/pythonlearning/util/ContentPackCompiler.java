@@ -0,0 +1,251 @@
+package com.pythonlearning.util;
+
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Quiz;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool that compiles the JSON course content into a single binary pack.
+ * Run by Maven in the process-classes phase; see {@link ContentPack} for the layout.
+ * The {@link SearchIndex} is built in the same pass and written next to the pack.
+ *
+ * Usage: ContentPackCompiler &lt;content dir&gt; &lt;output file&gt;
+ */
+public class ContentPackCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(ContentPackCompiler.class);
+
+    private static final Pattern LESSON_FILE = Pattern.compile("module_(\\d+)[/\\\\]lesson_(\\d+)\\.json$");
+    private static final Pattern QUIZ_FILE = Pattern.compile("quiz_(\\d+)\\.json$");
+
+    // Deduplicated string table: identical strings (shared HTML, outputs, options) are stored once
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(records);
+
+    // Full-text index over the same content, written next to the pack
+    private final SearchIndex.Builder searchIndex = SearchIndex.builder();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ContentPackCompiler <content dir> <output file>");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        ContentPackCompiler compiler = new ContentPackCompiler();
+        byte[] pack = compiler.compile(Path.of(args[0]));
+        byte[] index = compiler.compileSearchIndex();
+
+        Path output = Path.of(args[1]);
+        Files.createDirectories(output.getParent());
+        Files.write(output, pack);
+        Files.write(output.resolveSibling(Path.of(SearchIndex.RESOURCE_PATH).getFileName()), index);
+
+        logger.info("Wrote content pack {} ({} KB) and search index ({} KB) in {} ms",
+                output, pack.length / 1024, index.length / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Compile all lessons and quizzes found under a content directory
+     */
+    public byte[] compile(Path contentDir) throws IOException {
+        // Sorted so the output is reproducible
+        TreeMap<Integer, Path> lessonFiles = new TreeMap<>();
+        TreeMap<Integer, Path> quizFiles = new TreeMap<>();
+
+        try (Stream<Path> files = Files.walk(contentDir)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                String name = contentDir.relativize(file).toString();
+                Matcher lesson = LESSON_FILE.matcher(name);
+                Matcher quiz = QUIZ_FILE.matcher(name);
+                if (lesson.find()) {
+                    lessonFiles.put(Integer.parseInt(lesson.group(1)) * 1000 + Integer.parseInt(lesson.group(2)), file);
+                } else if (quiz.find()) {
+                    quizFiles.put(Integer.parseInt(quiz.group(1)), file);
+                }
+            });
+        }
+
+        List<int[]> lessonTable = new ArrayList<>();
+        for (Map.Entry<Integer, Path> entry : lessonFiles.entrySet()) {
+            byte[] json = Files.readAllBytes(entry.getValue());
+            Lesson lesson = parse(json, Lesson.class);
+            lessonTable.add(new int[]{entry.getKey() / 1000, entry.getKey() % 1000, records.size(), json.length});
+            writeLesson(lesson);
+            searchIndex.addLesson(entry.getKey() / 1000, entry.getKey() % 1000, lesson);
+        }
+
+        List<int[]> quizTable = new ArrayList<>();
+        for (Map.Entry<Integer, Path> entry : quizFiles.entrySet()) {
+            byte[] json = Files.readAllBytes(entry.getValue());
+            Quiz quiz = parse(json, Quiz.class);
+            quizTable.add(new int[]{entry.getKey(), records.size(), json.length});
+            writeQuiz(quiz);
+            searchIndex.addQuiz(entry.getKey(), quiz);
+        }
+
+        return assemble(lessonTable, quizTable);
+    }
+
+    /**
+     * Serialize the search index over everything passed to {@link #compile(Path)}
+     */
+    public byte[] compileSearchIndex() throws IOException {
+        return searchIndex.build().toBytes();
+    }
+
+    private <T> T parse(byte[] json, Class<T> type) throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+            return ContentLoader.gson.fromJson(reader, type);
+        }
+    }
+
+    private void writeLesson(Lesson lesson) throws IOException {
+        Lesson.CodeExample code = lesson.getCodeExample();
+        Lesson.Exercise exercise = lesson.getExercise();
+        Lesson.Solution solution = lesson.getSolution();
+
+        int flags = (code != null ? ContentPack.HAS_CODE_EXAMPLE : 0)
+                | (exercise != null ? ContentPack.HAS_EXERCISE : 0)
+                | (solution != null ? ContentPack.HAS_SOLUTION : 0);
+
+        recordOut.writeInt(flags);
+        writeString(lesson.getTitle());
+        writeString(lesson.getEstimatedTime());
+        writeString(lesson.getConcept());
+        writeString(code != null ? code.getLanguage() : null);
+        writeString(code != null ? code.getCode() : null);
+        writeString(code != null ? code.getOutput() : null);
+        writeString(lesson.getSyntaxBreakdown());
+        writeString(exercise != null ? exercise.getInstructions() : null);
+        writeString(exercise != null ? exercise.getStarterCode() : null);
+        writeString(exercise != null ? exercise.getHint() : null);
+        writeString(solution != null ? solution.getCode() : null);
+        writeString(solution != null ? solution.getExplanation() : null);
+        writeString(solution != null ? solution.getCommonMistakes() : null);
+        writeString(lesson.getKeyTakeaways());
+    }
+
+    private void writeQuiz(Quiz quiz) throws IOException {
+        List<Quiz.Question> questions = quiz.getQuestions() != null ? quiz.getQuestions() : List.of();
+
+        writeString(quiz.getTitle());
+        writeString(quiz.getDescription());
+        writeString(quiz.getEstimatedTime());
+        recordOut.writeInt(quiz.getPassingScore());
+        recordOut.writeInt(questions.size());
+
+        for (Quiz.Question question : questions) {
+            writeString(question.getQuestion());
+            writeString(question.getType());
+            writeString(question.getExplanation());
+            writeString(question.getCode());
+
+            Object answer = question.getCorrectAnswer();
+            if (answer instanceof Number number) {
+                recordOut.writeInt(ContentPack.ANSWER_NUMBER);
+                recordOut.writeLong(Double.doubleToLongBits(number.doubleValue()));
+            } else if (answer instanceof String text) {
+                recordOut.writeInt(ContentPack.ANSWER_STRING);
+                recordOut.writeLong(stringId(text));
+            } else if (answer instanceof Boolean bool) {
+                recordOut.writeInt(ContentPack.ANSWER_BOOLEAN);
+                recordOut.writeLong(bool ? 1 : 0);
+            } else {
+                recordOut.writeInt(ContentPack.ANSWER_NONE);
+                recordOut.writeLong(0);
+            }
+
+            List<String> options = question.getOptions();
+            recordOut.writeInt(options != null ? options.size() : -1);
+            if (options != null) {
+                for (String option : options) {
+                    writeString(option);
+                }
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        recordOut.writeInt(value != null ? stringId(value) : -1);
+    }
+
+    private int stringId(String value) {
+        return stringIds.computeIfAbsent(value, v -> {
+            strings.add(v.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    /**
+     * Lay out header, tables, string blob and records into the final pack
+     */
+    private byte[] assemble(List<int[]> lessonTable, List<int[]> quizTable) throws IOException {
+        int lessonTableOffset = ContentPack.HEADER_BYTES;
+        int quizTableOffset = lessonTableOffset + lessonTable.size() * 4 * Integer.BYTES;
+        int stringTableOffset = quizTableOffset + quizTable.size() * 3 * Integer.BYTES;
+        int blobOffset = stringTableOffset + strings.size() * 2 * Integer.BYTES;
+        int blobLength = strings.stream().mapToInt(s -> s.length).sum();
+        int recordsOffset = blobOffset + blobLength;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(recordsOffset + records.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(ContentPack.MAGIC);
+        out.writeInt(ContentPack.VERSION);
+        out.writeInt(lessonTable.size());
+        out.writeInt(quizTable.size());
+        out.writeInt(strings.size());
+        out.writeInt(lessonTableOffset);
+        out.writeInt(quizTableOffset);
+        out.writeInt(stringTableOffset);
+        out.writeInt(blobOffset);
+
+        for (int[] lesson : lessonTable) {
+            out.writeInt(lesson[0]);
+            out.writeInt(lesson[1]);
+            out.writeInt(recordsOffset + lesson[2]);
+            out.writeInt(lesson[3]);
+        }
+        for (int[] quiz : quizTable) {
+            out.writeInt(quiz[0]);
+            out.writeInt(recordsOffset + quiz[1]);
+            out.writeInt(quiz[2]);
+        }
+
+        int offset = 0;
+        for (byte[] string : strings) {
+            out.writeInt(offset);
+            out.writeInt(string.length);
+            offset += string.length;
+        }
+        for (byte[] string : strings) {
+            out.write(string);
+        }
+
+        records.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,186 @@
+package com.pythonlearning.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches a filesystem content directory (the layout of /content: modules/module_XX/
+ * lesson_YY.json and quizzes/quiz_XX.json) for created, edited and deleted files.
+ *
+ * Only directories are registered, one watch key per module rather than per file.
+ * Editors often save in several steps (temporary file, rename, touch), so events are
+ * collected until the directory has been quiet for {@value #SETTLE_MILLIS} ms and then
+ * handed over as one batch of distinct changes. Directories created later, such as a
+ * new module, are registered when they appear and their files reported.
+ */
+final class ContentWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ContentWatcher.class);
+
+    private static final long SETTLE_MILLIS = 150;
+
+    private static final Pattern MODULE_DIR = Pattern.compile("module_(\\d+)");
+    private static final Pattern LESSON_FILE = Pattern.compile("lesson_(\\d+)\\.json");
+    private static final Pattern QUIZ_FILE = Pattern.compile("quiz_(\\d+)\\.json");
+
+    // Deep enough for root/modules/module_XX/lesson_YY.json
+    private static final int MAX_DEPTH = 3;
+
+    private final Path root;
+    private final WatchService watchService;
+    private final Consumer<Set<ContentChange>> onChanges;
+
+    // Watched directory of each key; only used by the constructor and then the watch thread
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    private ContentWatcher(Path root, Consumer<Set<ContentChange>> onChanges) throws IOException {
+        this.root = root;
+        this.onChanges = onChanges;
+        this.watchService = root.getFileSystem().newWatchService();
+        registerAll(root, null);
+    }
+
+    /**
+     * Start watching on a daemon thread
+     *
+     * @param onChanges called on the watch thread with each settled batch of changes
+     */
+    static ContentWatcher start(Path root, Consumer<Set<ContentChange>> onChanges) throws IOException {
+        ContentWatcher watcher = new ContentWatcher(root, onChanges);
+        Thread.ofPlatform().name("content-watch").daemon().start(watcher::run);
+        logger.info("Watching {} ({} directories) for content changes", root, watcher.directories.size());
+        return watcher;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<ContentChange> changes = new HashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collect(key, changes);
+                    key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                if (!changes.isEmpty()) {
+                    try {
+                        onChanges.accept(changes);
+                    } catch (RuntimeException e) {
+                        logger.error("Error applying content changes: {}", e.getMessage(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Stopped watching {}", root);
+        }
+    }
+
+    private void collect(WatchKey key, Set<ContentChange> changes) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                // Events were lost: report every file there is (deletions cannot be recovered)
+                logger.warn("Content watch events overflowed; reloading all content files");
+                registerAll(root, changes);
+                continue;
+            }
+
+            if (directory == null) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                registerAll(path, changes);
+                continue;
+            }
+            ContentChange change = toChange(path);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    /**
+     * Register a directory and those below it, adding the files found to {@code changes}
+     * unless it is null
+     */
+    private void registerAll(Path start, Set<ContentChange> changes) {
+        int depth = start.equals(root) ? MAX_DEPTH : MAX_DEPTH - root.relativize(start).getNameCount();
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(start, Math.max(depth, 0))) {
+            paths = walk.toList();
+        } catch (IOException e) {
+            logger.warn("Could not scan {}: {}", start, e.getMessage());
+            return;
+        }
+
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try {
+                    WatchKey key = path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                    directories.put(key, path);
+                } catch (IOException e) {
+                    logger.warn("Could not watch {}: {}", path, e.getMessage());
+                }
+            } else if (changes != null) {
+                ContentChange change = toChange(path);
+                if (change != null) {
+                    changes.add(change);
+                }
+            }
+        }
+    }
+
+    /**
+     * The lesson or quiz a file holds, or null for any other file
+     */
+    static ContentChange toChange(Path path) {
+        Path parent = path.getParent();
+        if (parent == null || parent.getFileName() == null) {
+            return null;
+        }
+        String file = path.getFileName().toString();
+        String directory = parent.getFileName().toString();
+
+        Matcher lesson = LESSON_FILE.matcher(file);
+        Matcher module = MODULE_DIR.matcher(directory);
+        if (lesson.matches() && module.matches()) {
+            return ContentChange.lesson(Integer.parseInt(module.group(1)), Integer.parseInt(lesson.group(1)));
+        }
+        Matcher quiz = QUIZ_FILE.matcher(file);
+        if (quiz.matches() && directory.equals("quizzes")) {
+            return ContentChange.quiz(Integer.parseInt(quiz.group(1)));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,298 @@
+package com.pythonlearning.util;
+
+import com.google.gson.stream.JsonReader;
+import com.pythonlearning.model.Module;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact metadata index over all lesson files.
+ *
+ * For each lesson it keeps the title, estimated time and, when built from JSON,
+ * the byte offset/size of every top-level section in the file. Building it only
+ * scans raw bytes for section boundaries (or reads titles from the content pack),
+ * so sidebars, tables of contents and search results can list every lesson
+ * without deserializing any lesson bodies.
+ */
+public class LessonIndex {
+    private static final Logger logger = LoggerFactory.getLogger(LessonIndex.class);
+
+    private final Entry[][] entries;   // [moduleId - 1][lessonId - 1], null if missing
+    private final List<Entry> allEntries;
+
+    private LessonIndex(Entry[][] entries) {
+        this.entries = entries;
+
+        List<Entry> all = new ArrayList<>();
+        for (Entry[] moduleEntries : entries) {
+            for (Entry entry : moduleEntries) {
+                if (entry != null) {
+                    all.add(entry);
+                }
+            }
+        }
+        this.allEntries = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Build the index from the content pack if present, otherwise by scanning
+     * every lesson resource of the given modules
+     */
+    static LessonIndex build(List<Module> modules, ContentPack pack) {
+        long start = System.nanoTime();
+        Entry[][] entries = new Entry[modules.size()][];
+
+        for (int m = 0; m < modules.size(); m++) {
+            Module module = modules.get(m);
+            entries[m] = new Entry[module.getLessons()];
+
+            for (int l = 0; l < module.getLessons(); l++) {
+                if (pack != null && pack.hasLesson(module.getId(), l + 1)) {
+                    // Pack records have no JSON sections to point at
+                    entries[m][l] = new Entry(module.getId(), l + 1, pack.lessonTitle(module.getId(), l + 1),
+                            pack.lessonEstimatedTime(module.getId(), l + 1),
+                            pack.lessonSourceBytes(module.getId(), l + 1), Map.of());
+                    continue;
+                }
+
+                // A broken file loses only its own entry, not the whole index
+                String path = ContentLoader.lessonPath(module.getId(), l + 1);
+                try {
+                    byte[] json = ContentLoader.readResource(path);
+                    if (json != null) {
+                        entries[m][l] = createEntry(module.getId(), l + 1, json);
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Error indexing lesson {}: {}", path, e.getMessage(), e);
+                }
+            }
+        }
+
+        LessonIndex index = new LessonIndex(entries);
+        logger.info("Built lesson index: {} lessons in {} ms",
+                index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Create the index entry for one lesson file
+     */
+    static Entry createEntry(int moduleId, int lessonId, byte[] json) {
+        Map<String, Span> sections = scanSections(json);
+        String title = readString(json, sections.get("title"));
+        return new Entry(moduleId, lessonId, title != null ? title : "Untitled Lesson",
+                readEstimatedTime(json, sections), json.length, sections);
+    }
+
+    /**
+     * Copy of this index with one lesson's entry replaced (null if the lesson was removed)
+     */
+    LessonIndex with(int moduleId, int lessonId, Entry entry) {
+        Entry[][] copy = entries.clone();
+        Entry[] moduleEntries = copy[moduleId - 1].clone();
+        moduleEntries[lessonId - 1] = entry;
+        copy[moduleId - 1] = moduleEntries;
+        return new LessonIndex(copy);
+    }
+
+    /**
+     * Get the entry for a lesson, or null if the lesson does not exist
+     */
+    public Entry get(int moduleId, int lessonId) {
+        if (moduleId < 1 || moduleId > entries.length) {
+            return null;
+        }
+        Entry[] moduleEntries = entries[moduleId - 1];
+        if (lessonId < 1 || lessonId > moduleEntries.length) {
+            return null;
+        }
+        return moduleEntries[lessonId - 1];
+    }
+
+    /**
+     * Get all indexed lessons in course order
+     */
+    public List<Entry> getAll() {
+        return allEntries;
+    }
+
+    /**
+     * Number of indexed lessons
+     */
+    public int size() {
+        return allEntries.size();
+    }
+
+    /**
+     * Find the byte span of each top-level value in a JSON object.
+     *
+     * Works directly on UTF-8 bytes: the structural characters are ASCII and never
+     * occur inside multi-byte sequences, so no decoding is needed. Malformed or
+     * truncated input ends the scan; the sections found before that point are returned.
+     */
+    public static Map<String, Span> scanSections(byte[] json) {
+        Map<String, Span> sections = new LinkedHashMap<>();
+        int pos = skipWhitespace(json, 0);
+        if (pos >= json.length || json[pos] != '{') {
+            return sections;
+        }
+        pos++;
+
+        while (true) {
+            pos = skipWhitespace(json, pos);
+            if (pos >= json.length || json[pos] == '}') {
+                return sections;
+            }
+            if (json[pos] == ',') {
+                pos++;
+                continue;
+            }
+
+            // Key
+            if (json[pos] != '"') {
+                return sections;
+            }
+            int keyEnd = skipString(json, pos);
+            if (keyEnd > json.length) {
+                return sections;
+            }
+            String key = new String(json, pos + 1, keyEnd - pos - 2, StandardCharsets.UTF_8);
+            pos = skipWhitespace(json, keyEnd);
+            if (pos >= json.length || json[pos] != ':') {
+                return sections;
+            }
+            pos = skipWhitespace(json, pos + 1);
+            if (pos >= json.length) {
+                return sections;
+            }
+
+            // Value
+            int valueEnd = skipValue(json, pos);
+            sections.put(key, new Span(pos, valueEnd - pos));
+            pos = valueEnd;
+        }
+    }
+
+    private static String readEstimatedTime(byte[] json, Map<String, Span> sections) {
+        String time = readString(json, sections.get("estimated_time"));
+        if (time == null) {
+            time = readString(json, sections.get("duration"));
+        }
+        if (time == null && sections.containsKey("estimated_minutes")) {
+            Span span = sections.get("estimated_minutes");
+            time = new String(json, span.offset(), span.length(), StandardCharsets.UTF_8) + " minutes";
+        }
+        return time;
+    }
+
+    /**
+     * Decode a JSON string value at the given span, or null if it is not a string
+     */
+    private static String readString(byte[] json, Span span) {
+        if (span == null || json[span.offset()] != '"') {
+            return null;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(span.decode(json)))) {
+            return reader.nextString();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int skipWhitespace(byte[] json, int pos) {
+        while (pos < json.length && (json[pos] == ' ' || json[pos] == '\n' || json[pos] == '\r' || json[pos] == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Skip a string starting at its opening quote; returns the index after the closing
+     * quote, or json.length + 1 if the string is not terminated
+     */
+    private static int skipString(byte[] json, int pos) {
+        pos++;
+        while (pos < json.length) {
+            byte b = json[pos];
+            if (b == '\\') {
+                pos += 2;
+            } else if (b == '"') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+        return json.length + 1;
+    }
+
+    /**
+     * Skip any JSON value; returns the index after its last byte
+     */
+    private static int skipValue(byte[] json, int pos) {
+        byte first = json[pos];
+        if (first == '"') {
+            return Math.min(skipString(json, pos), json.length);
+        }
+
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            while (pos < json.length) {
+                byte b = json[pos];
+                if (b == '"') {
+                    pos = skipString(json, pos);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return pos + 1;
+                    }
+                }
+                pos++;
+            }
+            return json.length;
+        }
+
+        // Number, true, false or null
+        while (pos < json.length && json[pos] != ',' && json[pos] != '}'
+                && json[pos] != ' ' && json[pos] != '\n' && json[pos] != '\r' && json[pos] != '\t') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Byte range of a JSON value inside a lesson file
+     */
+    public record Span(int offset, int length) {
+
+        public String decode(byte[] json) {
+            return new String(json, offset, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Metadata for a single lesson
+     */
+    public record Entry(int moduleId, int lessonId, String title, String estimatedTime,
+                        int sizeBytes, Map<String, Span> sections) {
+
+        /**
+         * Get the byte span of a top-level section, or null if the lesson has no such section
+         */
+        public Span section(String name) {
+            return sections.get(name);
+        }
+    }
+}
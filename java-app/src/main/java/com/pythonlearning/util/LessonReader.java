@@ -0,0 +1,86 @@
+package com.pythonlearning.util;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.pythonlearning.model.LazySection;
+import com.pythonlearning.model.Lesson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Streaming, section-lazy lesson deserializer.
+ *
+ * Only the header sections needed for the first screen (title, estimated time,
+ * concept and code example) are parsed up front. The syntax breakdown, exercise,
+ * solution and key takeaways are copied out as byte spans and parsed with a
+ * {@link JsonReader} the first time the UI asks for them. No section keeps the whole
+ * lesson file alive, and each span is released once its section is parsed.
+ */
+class LessonReader {
+    private static final Logger logger = LoggerFactory.getLogger(LessonReader.class);
+
+    private final Gson gson;
+
+    LessonReader(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Read a lesson from its JSON bytes, deferring everything below the first screen
+     */
+    Lesson read(byte[] json) throws IOException {
+        Map<String, LessonIndex.Span> sections = LessonIndex.scanSections(json);
+        if (!sections.containsKey("title")) {
+            throw new IOException("Not a lesson object");
+        }
+
+        Lesson lesson = new Lesson();
+        lesson.setTitle(parse(json, sections.get("title"), String.class));
+        lesson.setEstimatedTime(parse(json, sections.get("estimated_time"), String.class));
+        lesson.setConcept(parse(json, sections.get("concept"), String.class));
+        lesson.setCodeExample(parse(json, sections.get("code_example"), Lesson.CodeExample.class));
+
+        lesson.deferSyntaxBreakdown(defer(json, sections.get("syntax_breakdown"), String.class));
+        lesson.deferExercise(defer(json, sections.get("exercise"), Lesson.Exercise.class));
+        lesson.deferSolution(defer(json, sections.get("solution"), Lesson.Solution.class));
+        lesson.deferKeyTakeaways(defer(json, sections.get("key_takeaways"), String.class));
+
+        return lesson;
+    }
+
+    private <T> LazySection<T> defer(byte[] json, LessonIndex.Span span, Type type) {
+        byte[] section = span != null ? Arrays.copyOfRange(json, span.offset(), span.offset() + span.length()) : null;
+        LessonIndex.Span whole = section != null ? new LessonIndex.Span(0, section.length) : null;
+        return new LazySection<>(() -> {
+            try {
+                return parse(section, whole, type);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error parsing lesson section: {}", e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Parse a single section straight from the source bytes, or return null if it is absent
+     */
+    private <T> T parse(byte[] json, LessonIndex.Span span, Type type) throws IOException {
+        if (span == null) {
+            return null;
+        }
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                new ByteArrayInputStream(json, span.offset(), span.length()), StandardCharsets.UTF_8))) {
+            reader.setLenient(true);    // top-level scalars such as a bare string
+            return gson.fromJson(reader, type);
+        }
+    }
+}
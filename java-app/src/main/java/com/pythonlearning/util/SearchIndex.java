@@ -0,0 +1,659 @@
+package com.pythonlearning.util;
+
+import com.pythonlearning.model.Lesson;
+import com.pythonlearning.model.Module;
+import com.pythonlearning.model.Quiz;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Positional inverted index over every lesson section and quiz question.
+ *
+ * Each lesson and each quiz question is one document made of named fields (concept,
+ * code example, question, explanation...). Terms come from {@link TextAnalyzer} and are
+ * kept in one sorted array, so a prefix is a binary search plus a scan of neighbours.
+ * All postings live in a single int array: for every term, a run of
+ * {@code docId, frequency, position...} entries in document order. Positions of
+ * consecutive fields are separated by a gap so phrases never match across sections.
+ *
+ * Queries are ANDed words; text in double quotes is a phrase, and the word still being
+ * typed (no trailing space) is matched as a prefix. The index is immutable and can be
+ * queried from any thread; it is built at package time by {@link ContentPackCompiler}
+ * or from the content at startup, and when content is edited in dev mode a copy with
+ * only the changed documents re-analyzed replaces it (see {@link #replace}).
+ */
+public final class SearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final String RESOURCE_PATH = "/content/search.index";
+    static final int MAGIC = 0x50595349;    // "PYSI"
+    static final int VERSION = 1;
+
+    // Position gap between fields of a document
+    private static final int FIELD_GAP = 16;
+
+    // Prefixes shorter than this only match whole terms
+    private static final int MIN_PREFIX = 2;
+
+    // Course order: lessons by module and lesson, then quiz questions by module and question
+    private static final Comparator<Document> COURSE_ORDER = Comparator.comparing(Document::kind)
+            .thenComparingInt(Document::moduleId)
+            .thenComparingInt(Document::lessonId)
+            .thenComparingInt(Document::question);
+
+    private final Document[] documents;
+    private final String[] terms;
+    private final int[] termStarts;     // terms.length + 1 offsets into postings
+    private final int[] docFrequencies;
+    private final int[] postings;
+
+    private SearchIndex(Document[] documents, String[] terms, int[] termStarts, int[] docFrequencies, int[] postings) {
+        this.documents = documents;
+        this.terms = terms;
+        this.termStarts = termStarts;
+        this.docFrequencies = docFrequencies;
+        this.postings = postings;
+    }
+
+    /**
+     * Start an empty index
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Index the whole course, one lesson at a time, without going through the content caches
+     */
+    static SearchIndex build(List<Module> modules) {
+        long start = System.nanoTime();
+        Builder builder = builder();
+
+        for (Module module : modules) {
+            for (int lessonId = 1; lessonId <= module.getLessons(); lessonId++) {
+                Lesson lesson = ContentLoader.readLessonUncached(module.getId(), lessonId);
+                if (lesson != null) {
+                    builder.addLesson(module.getId(), lessonId, lesson);
+                }
+            }
+        }
+        for (Module module : modules) {
+            Quiz quiz = ContentLoader.readQuizUncached(module.getId());
+            if (quiz != null) {
+                builder.addQuiz(module.getId(), quiz);
+            }
+        }
+
+        SearchIndex index = builder.build();
+        logger.info("Built search index: {} documents, {} terms in {} ms",
+                index.size(), index.termCount(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Copy of this index in which the documents matching {@code stale} are replaced by
+     * the documents of {@code changes}, which must have been added in course order.
+     *
+     * Only the changed content has been analyzed (by the builder); the postings of every
+     * other document are copied over, renumbered. That makes one edited lesson cost a
+     * linear merge of the arrays rather than re-reading and re-analyzing the whole course.
+     */
+    public SearchIndex replace(Predicate<Document> stale, Builder changes) {
+        SearchIndex added = changes.build();
+
+        // New ids of the kept and added documents, merged in course order; -1 = removed
+        int[] keptIds = new int[documents.length];
+        int[] addedIds = new int[added.documents.length];
+        List<Document> merged = new ArrayList<>(documents.length + added.documents.length);
+        int k = 0;
+        int a = 0;
+        while (k < documents.length || a < added.documents.length) {
+            if (k < documents.length && stale.test(documents[k])) {
+                keptIds[k++] = -1;
+            } else if (a == added.documents.length
+                    || (k < documents.length && COURSE_ORDER.compare(documents[k], added.documents[a]) <= 0)) {
+                keptIds[k] = merged.size();
+                merged.add(documents[k++]);
+            } else {
+                addedIds[a] = merged.size();
+                merged.add(added.documents[a++]);
+            }
+        }
+
+        // Merge the sorted term lists, and each shared term's postings in new document order
+        List<String> mergedTerms = new ArrayList<>(terms.length + added.terms.length);
+        IntBuffer starts = new IntBuffer(terms.length + added.terms.length + 1);
+        IntBuffer frequencies = new IntBuffer(terms.length + added.terms.length);
+        IntBuffer out = new IntBuffer(postings.length + added.postings.length);
+        int t = 0;
+        int u = 0;
+        while (t < terms.length || u < added.terms.length) {
+            int cmp = t == terms.length ? 1 : u == added.terms.length ? -1 : terms[t].compareTo(added.terms[u]);
+            String term = cmp <= 0 ? terms[t] : added.terms[u];
+            int pos = cmp <= 0 ? termStarts[t] : 0;
+            int end = cmp <= 0 ? termStarts[++t] : 0;
+            int addedPos = cmp >= 0 ? added.termStarts[u] : 0;
+            int addedEnd = cmp >= 0 ? added.termStarts[++u] : 0;
+
+            int start = out.size;
+            int documentCount = 0;
+            while (pos < end || addedPos < addedEnd) {
+                int keptId = pos < end ? keptIds[postings[pos]] : -1;
+                if (pos < end && keptId < 0) {
+                    pos += 2 + postings[pos + 1];
+                    continue;
+                }
+                if (addedPos == addedEnd || (pos < end && keptId < addedIds[added.postings[addedPos]])) {
+                    out.add(keptId);
+                    out.add(postings, pos + 1, 1 + postings[pos + 1]);
+                    pos += 2 + postings[pos + 1];
+                } else {
+                    out.add(addedIds[added.postings[addedPos]]);
+                    out.add(added.postings, addedPos + 1, 1 + added.postings[addedPos + 1]);
+                    addedPos += 2 + added.postings[addedPos + 1];
+                }
+                documentCount++;
+            }
+
+            if (documentCount > 0) {
+                mergedTerms.add(term);
+                starts.add(start);
+                frequencies.add(documentCount);
+            }
+        }
+        starts.add(out.size);
+
+        return new SearchIndex(merged.toArray(Document[]::new), mergedTerms.toArray(String[]::new),
+                Arrays.copyOf(starts.values, starts.size), Arrays.copyOf(frequencies.values, frequencies.size),
+                Arrays.copyOf(out.values, out.size));
+    }
+
+    /**
+     * Number of indexed documents
+     */
+    public int size() {
+        return documents.length;
+    }
+
+    /**
+     * Number of distinct terms
+     */
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Find the documents matching a query, best first
+     */
+    public List<Hit> search(String query, int limit) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty()) {
+            return List.of();
+        }
+
+        // matched[doc] counts the clauses a document has satisfied so far; only documents
+        // that matched every earlier clause can advance, which intersects the clauses
+        int[] matched = new int[documents.length];
+        double[] scores = new double[documents.length];
+        int[] firstPositions = new int[documents.length];
+
+        for (int c = 0; c < clauses.size(); c++) {
+            Clause clause = clauses.get(c);
+            if (clause.phrase().size() > 1) {
+                matchPhrase(clause.phrase(), c, matched, scores, firstPositions);
+            } else {
+                matchTerms(clause.termIds(), c, matched, scores, firstPositions);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int doc = 0; doc < documents.length; doc++) {
+            if (matched[doc] == clauses.size()) {
+                Document document = documents[doc];
+                hits.add(new Hit(document, document.fieldAt(firstPositions[doc]), scores[doc]));
+            }
+        }
+        // Stable sort keeps course order among equal scores
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * One ANDed part of a query: a set of alternative terms, or a phrase of several
+     */
+    private record Clause(BitSet termIds, List<Integer> phrase) {
+    }
+
+    private List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        String[] parts = query.split("\"", -1);
+
+        for (int p = 0; p < parts.length; p++) {
+            boolean quoted = p % 2 == 1;
+            if (quoted) {
+                List<String> phraseTerms = TextAnalyzer.terms(parts[p]);
+                if (phraseTerms.isEmpty()) {
+                    continue;
+                }
+                List<Integer> phrase = new ArrayList<>(phraseTerms.size());
+                for (String term : phraseTerms) {
+                    phrase.add(Arrays.binarySearch(terms, term));
+                }
+                BitSet first = new BitSet();
+                if (phrase.get(0) >= 0) {
+                    first.set(phrase.get(0));
+                }
+                clauses.add(new Clause(first, phrase));
+                continue;
+            }
+
+            List<String> tokens = TextAnalyzer.tokens(parts[p]);
+            boolean typing = p == parts.length - 1 && !parts[p].isEmpty()
+                    && !Character.isWhitespace(parts[p].charAt(parts[p].length() - 1));
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                String term = TextAnalyzer.stem(token);
+                BitSet ids = new BitSet();
+
+                if (typing && t == tokens.size() - 1 && token.length() >= MIN_PREFIX) {
+                    addPrefix(token, ids);
+                    addPrefix(term, ids);
+                } else {
+                    int id = Arrays.binarySearch(terms, term);
+                    if (id >= 0) {
+                        ids.set(id);
+                    }
+                }
+                clauses.add(new Clause(ids, List.of()));
+            }
+        }
+        return clauses;
+    }
+
+    private void addPrefix(String prefix, BitSet ids) {
+        int id = Arrays.binarySearch(terms, prefix);
+        for (int i = id >= 0 ? id : -id - 1; i < terms.length && terms[i].startsWith(prefix); i++) {
+            ids.set(i);
+        }
+    }
+
+    private void matchTerms(BitSet termIds, int clause, int[] matched, double[] scores, int[] firstPositions) {
+        for (int term = termIds.nextSetBit(0); term >= 0; term = termIds.nextSetBit(term + 1)) {
+            double idf = idf(term);
+            int pos = termStarts[term];
+            int end = termStarts[term + 1];
+
+            while (pos < end) {
+                int doc = postings[pos];
+                int frequency = postings[pos + 1];
+                if (matched[doc] == clause || matched[doc] == clause + 1) {
+                    if (matched[doc] == clause) {
+                        matched[doc]++;
+                        if (clause == 0) {
+                            firstPositions[doc] = postings[pos + 2];
+                        }
+                    }
+                    scores[doc] += frequency * idf;
+                }
+                pos += 2 + frequency;
+            }
+        }
+    }
+
+    private void matchPhrase(List<Integer> phrase, int clause, int[] matched, double[] scores, int[] firstPositions) {
+        for (int term : phrase) {
+            if (term < 0) {
+                return;
+            }
+        }
+
+        // Offset of each phrase term's entry for every document, -1 if absent
+        int[][] entries = new int[phrase.size()][];
+        for (int i = 0; i < phrase.size(); i++) {
+            entries[i] = new int[documents.length];
+            Arrays.fill(entries[i], -1);
+            int term = phrase.get(i);
+            for (int pos = termStarts[term]; pos < termStarts[term + 1]; pos += 2 + postings[pos + 1]) {
+                entries[i][postings[pos]] = pos;
+            }
+        }
+        double idf = phrase.stream().mapToDouble(this::idf).sum();
+
+        int first = phrase.get(0);
+        for (int pos = termStarts[first]; pos < termStarts[first + 1]; pos += 2 + postings[pos + 1]) {
+            int doc = postings[pos];
+            if (matched[doc] != clause) {
+                continue;
+            }
+
+            int occurrences = 0;
+            int firstMatch = -1;
+            for (int p = 0; p < postings[pos + 1]; p++) {
+                int start = postings[pos + 2 + p];
+                if (followedByPhrase(entries, doc, start)) {
+                    occurrences++;
+                    if (firstMatch < 0) {
+                        firstMatch = start;
+                    }
+                }
+            }
+            if (occurrences > 0) {
+                matched[doc]++;
+                scores[doc] += occurrences * idf;
+                if (clause == 0) {
+                    firstPositions[doc] = firstMatch;
+                }
+            }
+        }
+    }
+
+    private boolean followedByPhrase(int[][] entries, int doc, int start) {
+        for (int i = 1; i < entries.length; i++) {
+            int entry = entries[i][doc];
+            if (entry < 0 || Arrays.binarySearch(postings, entry + 2, entry + 2 + postings[entry + 1], start + i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double idf(int term) {
+        return Math.log(1.0 + (double) documents.length / docFrequencies[term]);
+    }
+
+    /**
+     * Serialize the index (see {@link #read(byte[])})
+     */
+    public byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(postings.length * Integer.BYTES + 64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(documents.length);
+        for (Document document : documents) {
+            out.writeByte(document.kind().ordinal());
+            out.writeInt(document.moduleId());
+            out.writeInt(document.lessonId());
+            out.writeInt(document.question());
+            out.writeUTF(document.title());
+            out.writeInt(document.fieldNames().length);
+            for (int f = 0; f < document.fieldNames().length; f++) {
+                out.writeUTF(document.fieldNames()[f]);
+                out.writeInt(document.fieldStarts()[f]);
+            }
+        }
+
+        out.writeInt(terms.length);
+        for (int t = 0; t < terms.length; t++) {
+            out.writeUTF(terms[t]);
+            out.writeInt(termStarts[t]);
+            out.writeInt(docFrequencies[t]);
+        }
+        out.writeInt(postings.length);
+        for (int value : postings) {
+            out.writeInt(value);
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read an index written by {@link #toBytes()}
+     *
+     * @throws IOException if the data is not an index of the current version
+     */
+    public static SearchIndex read(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a search index (version " + VERSION + ")");
+        }
+
+        Document[] documents = new Document[in.readInt()];
+        Document.Kind[] kinds = Document.Kind.values();
+        for (int d = 0; d < documents.length; d++) {
+            Document.Kind kind = kinds[in.readByte()];
+            int moduleId = in.readInt();
+            int lessonId = in.readInt();
+            int question = in.readInt();
+            String title = in.readUTF();
+            String[] fieldNames = new String[in.readInt()];
+            int[] fieldStarts = new int[fieldNames.length];
+            for (int f = 0; f < fieldNames.length; f++) {
+                fieldNames[f] = in.readUTF();
+                fieldStarts[f] = in.readInt();
+            }
+            documents[d] = new Document(kind, moduleId, lessonId, question, title, fieldNames, fieldStarts);
+        }
+
+        String[] terms = new String[in.readInt()];
+        int[] termStarts = new int[terms.length + 1];
+        int[] docFrequencies = new int[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            terms[t] = in.readUTF().intern();
+            termStarts[t] = in.readInt();
+            docFrequencies[t] = in.readInt();
+        }
+        int[] postings = new int[in.readInt()];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = in.readInt();
+        }
+        termStarts[terms.length] = postings.length;
+
+        return new SearchIndex(documents, terms, termStarts, docFrequencies, postings);
+    }
+
+    /**
+     * A searchable unit: a lesson, or one question of a module quiz
+     *
+     * @param lessonId    lesson number, 0 for quiz questions
+     * @param question    question index, -1 for lessons
+     * @param fieldStarts first position of each field, ascending
+     */
+    public record Document(Kind kind, int moduleId, int lessonId, int question, String title,
+                           String[] fieldNames, int[] fieldStarts) {
+
+        public enum Kind { LESSON, QUIZ_QUESTION }
+
+        /**
+         * Name of the field containing a position
+         */
+        public String fieldAt(int position) {
+            int f = Arrays.binarySearch(fieldStarts, position);
+            return fieldNames[f >= 0 ? f : Math.max(0, -f - 2)];
+        }
+    }
+
+    /**
+     * A matching document, the field of its first match and its tf-idf score
+     */
+    public record Hit(Document document, String field, double score) {
+    }
+
+    /**
+     * Collects documents and lays out the final arrays
+     */
+    public static final class Builder {
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<String, IntBuffer> termPostings = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a lesson with all its sections
+         */
+        public Builder addLesson(int moduleId, int lessonId, Lesson lesson) {
+            Map<String, List<String>> fields = new LinkedHashMap<>();
+            fields.put("Title", TextAnalyzer.plainTerms(lesson.getTitle()));
+            fields.put("Concept", TextAnalyzer.terms(lesson.getConcept()));
+
+            Lesson.CodeExample code = lesson.getCodeExample();
+            if (code != null) {
+                fields.put("Code Example", concat(TextAnalyzer.plainTerms(code.getCode()),
+                        TextAnalyzer.plainTerms(code.getOutput())));
+            }
+            fields.put("Syntax Breakdown", TextAnalyzer.terms(lesson.getSyntaxBreakdown()));
+
+            Lesson.Exercise exercise = lesson.getExercise();
+            if (exercise != null) {
+                fields.put("Exercise", concat(TextAnalyzer.terms(exercise.getInstructions()),
+                        TextAnalyzer.plainTerms(exercise.getStarterCode()), TextAnalyzer.terms(exercise.getHint())));
+            }
+            Lesson.Solution solution = lesson.getSolution();
+            if (solution != null) {
+                fields.put("Solution", concat(TextAnalyzer.plainTerms(solution.getCode()),
+                        TextAnalyzer.terms(solution.getExplanation()), TextAnalyzer.terms(solution.getCommonMistakes())));
+            }
+            fields.put("Key Takeaways", TextAnalyzer.terms(lesson.getKeyTakeaways()));
+
+            addDocument(Document.Kind.LESSON, moduleId, lessonId, -1,
+                    lesson.getTitle() != null ? lesson.getTitle() : "Untitled Lesson", fields);
+            return this;
+        }
+
+        /**
+         * Add every question of a module quiz as its own document
+         */
+        public Builder addQuiz(int moduleId, Quiz quiz) {
+            List<Quiz.Question> questions = quiz.getQuestions() != null ? quiz.getQuestions() : List.of();
+            String quizTitle = quiz.getTitle() != null ? quiz.getTitle() : "Module " + moduleId + " Quiz";
+
+            for (int q = 0; q < questions.size(); q++) {
+                Quiz.Question question = questions.get(q);
+                Map<String, List<String>> fields = new LinkedHashMap<>();
+                fields.put("Question", TextAnalyzer.terms(question.getQuestion()));
+                fields.put("Code", TextAnalyzer.plainTerms(question.getCode()));
+
+                List<String> options = new ArrayList<>();
+                if (question.getOptions() != null) {
+                    question.getOptions().forEach(option -> options.addAll(TextAnalyzer.terms(option)));
+                }
+                fields.put("Options", options);
+                fields.put("Explanation", TextAnalyzer.terms(question.getExplanation()));
+
+                addDocument(Document.Kind.QUIZ_QUESTION, moduleId, 0, q, quizTitle + " · Question " + (q + 1), fields);
+            }
+            return this;
+        }
+
+        private void addDocument(Document.Kind kind, int moduleId, int lessonId, int question, String title,
+                                 Map<String, List<String>> fields) {
+            int doc = documents.size();
+            String[] fieldNames = new String[fields.size()];
+            int[] fieldStarts = new int[fields.size()];
+
+            // Positions of every term in this document, in order of first appearance
+            Map<String, IntBuffer> positions = new LinkedHashMap<>();
+            int position = 0;
+            int f = 0;
+            for (Map.Entry<String, List<String>> field : fields.entrySet()) {
+                fieldNames[f] = field.getKey();
+                fieldStarts[f++] = position;
+                for (String term : field.getValue()) {
+                    positions.computeIfAbsent(term, t -> new IntBuffer()).add(position++);
+                }
+                position += FIELD_GAP;
+            }
+
+            for (Map.Entry<String, IntBuffer> entry : positions.entrySet()) {
+                IntBuffer postings = termPostings.computeIfAbsent(entry.getKey(), t -> new IntBuffer());
+                postings.add(doc);
+                postings.add(entry.getValue().size);
+                postings.addAll(entry.getValue());
+            }
+            documents.add(new Document(kind, moduleId, lessonId, question, title, fieldNames, fieldStarts));
+        }
+
+        private static List<String> concat(List<String> first, List<String> second) {
+            List<String> all = new ArrayList<>(first);
+            all.addAll(second);
+            return all;
+        }
+
+        private static List<String> concat(List<String> first, List<String> second, List<String> third) {
+            List<String> all = concat(first, second);
+            all.addAll(third);
+            return all;
+        }
+
+        /**
+         * Build the immutable index; the builder should not be used afterwards
+         */
+        public SearchIndex build() {
+            String[] terms = termPostings.keySet().toArray(String[]::new);
+            Arrays.sort(terms);
+
+            int total = termPostings.values().stream().mapToInt(buffer -> buffer.size).sum();
+            int[] postings = new int[total];
+            int[] termStarts = new int[terms.length + 1];
+            int[] docFrequencies = new int[terms.length];
+
+            int offset = 0;
+            for (int t = 0; t < terms.length; t++) {
+                IntBuffer buffer = termPostings.get(terms[t]);
+                termStarts[t] = offset;
+                System.arraycopy(buffer.values, 0, postings, offset, buffer.size);
+
+                for (int pos = offset; pos < offset + buffer.size; pos += 2 + postings[pos + 1]) {
+                    docFrequencies[t]++;
+                }
+                offset += buffer.size;
+            }
+            termStarts[terms.length] = offset;
+
+            return new SearchIndex(documents.toArray(Document[]::new), terms, termStarts, docFrequencies, postings);
+        }
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntBuffer {
+        private int[] values;
+        private int size;
+
+        IntBuffer() {
+            this(4);
+        }
+
+        IntBuffer(int capacity) {
+            values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntBuffer other) {
+            add(other.values, 0, other.size);
+        }
+
+        void add(int[] source, int from, int count) {
+            if (size + count > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + count));
+            }
+            System.arraycopy(source, from, values, size, count);
+            size += count;
+        }
+    }
+}
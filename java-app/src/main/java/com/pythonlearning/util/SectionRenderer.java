@@ -0,0 +1,368 @@
+package com.pythonlearning.util;
+
+import com.pythonlearning.metrics.Metrics;
+import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Entities;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Tag;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns an authored lesson section into the two forms the UI displays: a complete,
+ * sanitized HTML document with the WebView stylesheet, and plain text for labels and
+ * dialogs.
+ *
+ * Course content is HTML, often just an inline fragment such as a quiz option. Text
+ * without any markup is plain text: it is shown exactly as written, line breaks and
+ * indentation included, and never parsed as HTML. Markdown is converted with flexmark
+ * only when the caller says the text is {@link Format#MARKDOWN}. Everything else is
+ * cleaned against a safelist, so content can never run script, load remote frames or
+ * carry event handlers. Lesson sections are rendered once and kept in a size-bounded
+ * cache (-Dpythonlearning.cache.sections.maxBytes), so showing a lesson again does no
+ * HTML work at all.
+ *
+ * Thread-safe; rendering is meant to run on the loader threads, not the FX thread.
+ */
+public final class SectionRenderer {
+
+    private static final String HTML_HEADER = "<html><head><meta charset=\"UTF-8\"><style>" +
+            "body { font-family: 'Segoe UI', Arial, sans-serif; font-size: 14px; line-height: 1.6; }" +
+            "code { background-color: #f4f4f4; padding: 2px 6px; border-radius: 3px; font-family: 'Courier New', monospace; }" +
+            "pre { background-color: #f4f4f4; padding: 10px; border-radius: 5px; overflow-x: auto; }" +
+            "ul, ol { margin-left: 20px; }" +
+            "table { border-collapse: collapse; } th, td { border: 1px solid #ddd; padding: 4px 8px; }" +
+            ".plain { white-space: pre-wrap; }" +
+            "</style></head><body>";
+    private static final String HTML_FOOTER = "</body></html>";
+
+    private static final long SECTION_CACHE_BYTES =
+            Long.getLong("pythonlearning.cache.sections.maxBytes", 4 * 1024 * 1024);
+
+    private static final ContentCache<Key, Rendered> sectionCache =
+            new ContentCache<>("Section", SECTION_CACHE_BYTES);
+
+    private static final Pattern CHARACTER_REFERENCE = Pattern.compile("&(?:[A-Za-z][A-Za-z0-9]*|#[0-9]+|#[xX][0-9A-Fa-f]+);");
+
+    private static final MutableDataSet MARKDOWN_OPTIONS = new MutableDataSet()
+            .set(Parser.EXTENSIONS, List.of(TablesExtension.create(), StrikethroughExtension.create()));
+    private static final Parser markdownParser = Parser.builder(MARKDOWN_OPTIONS).build();
+    private static final HtmlRenderer markdownRenderer = HtmlRenderer.builder(MARKDOWN_OPTIONS).build();
+
+    // Formatting, lists, tables and code; the class attribute is kept for styled spans
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .removeTags("img")
+            .addAttributes(":all", "class");
+
+    private static final Set<String> BLOCK_TAGS = Set.of("p", "div", "pre", "ul", "ol", "li", "table", "tr",
+            "h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "dl", "dt", "dd");
+
+    // Blocks followed by a blank line, unless they are inside a list item
+    private static final Set<String> PARAGRAPH_TAGS = Set.of("p", "pre", "table", "ul", "ol",
+            "h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "dl");
+
+    public static final Rendered EMPTY = new Rendered(HTML_HEADER + HTML_FOOTER, "");
+
+    private SectionRenderer() {
+    }
+
+    /**
+     * Display forms of one section
+     *
+     * @param html complete HTML document, ready for WebEngine.loadContent
+     * @param text plain text with line breaks for paragraphs and list items
+     */
+    public record Rendered(String html, String text) {
+    }
+
+    /**
+     * How authored text is written
+     */
+    public enum Format {
+        /** HTML, or plain text if it contains no markup (all course content) */
+        HTML,
+        /** Markdown; only for text known to be written as Markdown */
+        MARKDOWN
+    }
+
+    /**
+     * Lesson sections with a display form
+     */
+    public enum Section {
+        CONCEPT, SYNTAX_BREAKDOWN, INSTRUCTIONS, HINT, KEY_TAKEAWAYS, EXPLANATION
+    }
+
+    private record Key(int moduleId, int lessonId, Section section) {
+    }
+
+    /**
+     * Render a lesson section, or return it from the section cache
+     */
+    public static Rendered lessonSection(int moduleId, int lessonId, Section section, String authored) {
+        if (authored == null || authored.isBlank()) {
+            return EMPTY;
+        }
+        return sectionCache.get(new Key(moduleId, lessonId, section), key -> {
+            Rendered rendered = render(authored);
+            long weight = 2L * (rendered.html().length() + rendered.text().length());
+            return new ContentCache.Weighted<>(rendered, weight);
+        });
+    }
+
+    /**
+     * Drop the cached sections of a lesson, e.g. after its content changed
+     */
+    public static void invalidate(int moduleId, int lessonId) {
+        for (Section section : Section.values()) {
+            sectionCache.invalidate(new Key(moduleId, lessonId, section));
+        }
+    }
+
+    /**
+     * Drop every cached section
+     */
+    public static void invalidateAll() {
+        sectionCache.invalidateAll();
+    }
+
+    public static ContentCache.CacheStats getCacheStats() {
+        return sectionCache.stats();
+    }
+
+    /**
+     * Render authored HTML or plain text without caching
+     */
+    public static Rendered render(String authored) {
+        return render(authored, Format.HTML);
+    }
+
+    /**
+     * Render authored text of the given format without caching
+     */
+    public static Rendered render(String authored, Format format) {
+        if (authored == null || authored.isBlank()) {
+            return EMPTY;
+        }
+        long start = System.nanoTime();
+        Rendered rendered;
+        if (format == Format.HTML && isPlainText(authored)) {
+            String text = authored.strip();
+            rendered = new Rendered(HTML_HEADER + "<div class=\"plain\">" + Entities.escape(text) + "</div>" + HTML_FOOTER, text);
+        } else {
+            Element body = sanitize(authored, format);
+            rendered = new Rendered(HTML_HEADER + body.html() + HTML_FOOTER, text(body));
+        }
+        Metrics.SECTION_RENDER.recordSince(start);
+        return rendered;
+    }
+
+    /**
+     * Plain text of authored HTML or plain text without caching (quiz labels)
+     */
+    public static String toText(String authored) {
+        return toText(authored, Format.HTML);
+    }
+
+    /**
+     * Plain text of authored text of the given format without caching
+     */
+    public static String toText(String authored, Format format) {
+        if (authored == null || authored.isBlank()) {
+            return "";
+        }
+        if (format == Format.HTML && isPlainText(authored)) {
+            return authored.strip();
+        }
+        return text(sanitize(authored, format));
+    }
+
+    /**
+     * Parse a section into a cleaned body element
+     */
+    private static Element sanitize(String authored, Format format) {
+        String html = format == Format.MARKDOWN ? markdownRenderer.render(markdownParser.parse(authored)) : authored;
+        Document clean = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(escapeStrayBrackets(html)));
+        clean.outputSettings().prettyPrint(false);
+        return clean.body();
+    }
+
+    /**
+     * Escape every '<' that does not open or close a known HTML tag. Authors write
+     * Python output such as {@code <class 'int'>} and comparisons such as {@code 3 <2}
+     * unescaped; parsed as markup they would silently disappear.
+     */
+    static String escapeStrayBrackets(String html) {
+        StringBuilder out = null;
+        int copied = 0;
+        for (int i = html.indexOf('<'); i >= 0; i = html.indexOf('<', i + 1)) {
+            if (opensTag(html, i)) {
+                continue;
+            }
+
+            if (out == null) {
+                out = new StringBuilder(html.length() + 16);
+            }
+            out.append(html, copied, i).append("&lt;");
+            copied = i + 1;
+        }
+        return out == null ? html : out.append(html, copied, html.length()).toString();
+    }
+
+    /**
+     * Whether the '<' at the given index opens or closes a known HTML tag or a comment
+     */
+    private static boolean opensTag(String html, int i) {
+        if (html.startsWith("<!--", i)) {
+            return true;
+        }
+        int start = i + 1;
+        if (start < html.length() && (html.charAt(start) == '/' || html.charAt(start) == '!')) {
+            start++;
+        }
+        int end = start;
+        while (end < html.length() && Character.isLetterOrDigit(html.charAt(end))) {
+            end++;
+        }
+        return end > start && Character.isLetter(html.charAt(start))
+                && Tag.isKnownTag(html.substring(start, end).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Whether authored text has no tags and no character references, e.g. a quiz option
+     * such as {@code x**2} or {@code __init__.py}
+     */
+    static boolean isPlainText(String authored) {
+        for (int i = authored.indexOf('<'); i >= 0; i = authored.indexOf('<', i + 1)) {
+            if (opensTag(authored, i)) {
+                return false;
+            }
+        }
+        return authored.indexOf('&') < 0 || !CHARACTER_REFERENCE.matcher(authored).find();
+    }
+
+    /**
+     * Text of a cleaned body: block elements start new lines, list items get a bullet
+     * or their number, table cells are separated by spaces, and preformatted text
+     * keeps its own line breaks
+     */
+    private static String text(Element body) {
+        PlainText plain = new PlainText();
+        plain.append(body, false, false);
+        StringBuilder out = plain.out;
+
+        // Trim trailing spaces on every line and collapse runs of blank lines
+        StringBuilder text = new StringBuilder(out.length());
+        int newlines = 0;
+        for (int i = 0; i < out.length(); i++) {
+            char c = out.charAt(i);
+            if (c == '\n') {
+                int end = text.length();
+                while (end > 0 && text.charAt(end - 1) == ' ') {
+                    end--;
+                }
+                text.setLength(end);
+                if (++newlines <= 2) {
+                    text.append('\n');
+                }
+            } else {
+                newlines = 0;
+                text.append(c);
+            }
+        }
+        return text.toString().strip();
+    }
+
+    /**
+     * Depth-first text extraction over a cleaned body
+     */
+    private static final class PlainText {
+        private final StringBuilder out = new StringBuilder();
+
+        // End of the last list marker: a block starting right after it stays on the marker's line
+        private int markerEnd = -1;
+
+        void append(Node node, boolean preformatted, boolean inListItem) {
+            for (Node child : node.childNodes()) {
+                if (child instanceof TextNode textNode) {
+                    if (preformatted) {
+                        out.append(textNode.getWholeText());
+                    } else {
+                        appendCollapsed(textNode.getWholeText());
+                    }
+                } else if (child instanceof Element element) {
+                    appendElement(element, preformatted, inListItem);
+                }
+            }
+        }
+
+        private void appendElement(Element element, boolean preformatted, boolean inListItem) {
+            String tag = element.normalName();
+            switch (tag) {
+                case "br" -> out.append('\n');
+                case "li" -> {
+                    newLine();
+                    Element parent = element.parent();
+                    out.append(parent != null && parent.normalName().equals("ol")
+                            ? (element.elementSiblingIndex() + 1) + ". " : "• ");
+                    markerEnd = out.length();
+                }
+                case "td", "th" -> {
+                    if (element.elementSiblingIndex() > 0) {
+                        out.append("  ");
+                    }
+                }
+                default -> {
+                    if (BLOCK_TAGS.contains(tag)) {
+                        newLine();
+                    }
+                }
+            }
+
+            append(element, preformatted || tag.equals("pre"), inListItem || tag.equals("li"));
+
+            if (PARAGRAPH_TAGS.contains(tag) && !inListItem) {
+                out.append("\n\n");
+            } else if (BLOCK_TAGS.contains(tag)) {
+                newLine();
+            }
+        }
+
+        /**
+         * Append text with whitespace runs collapsed to one space, as a browser shows it
+         */
+        private void appendCollapsed(String text) {
+            boolean space = out.isEmpty() || Character.isWhitespace(out.charAt(out.length() - 1));
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    if (!space) {
+                        out.append(' ');
+                        space = true;
+                    }
+                } else {
+                    out.append(c);
+                    space = false;
+                }
+            }
+        }
+
+        private void newLine() {
+            if (!out.isEmpty() && out.charAt(out.length() - 1) != '\n' && out.length() != markerEnd) {
+                out.append('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.pythonlearning.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns lesson HTML, code and query strings into search terms.
+ *
+ * In HTML, tags and character entities are skipped. The text is then split into
+ * runs of letters, digits and underscores (so Python identifiers such as
+ * {@code __init__} stay whole), lower-cased and reduced with a light English stemmer.
+ * Indexing and querying must use the same analyzer; bump {@link SearchIndex}'s format
+ * version whenever the rules change.
+ */
+final class TextAnalyzer {
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Analyze a fragment of HTML
+     *
+     * @return the terms in order of appearance
+     */
+    static List<String> terms(String html) {
+        return tokenize(html, true, true);
+    }
+
+    /**
+     * Analyze plain text such as source code, where '&lt;' is an operator and not a tag
+     */
+    static List<String> plainTerms(String text) {
+        return tokenize(text, false, true);
+    }
+
+    /**
+     * Split text into lower-cased tokens without stemming (used for the word being
+     * typed, which is matched as a prefix)
+     */
+    static List<String> tokens(String text) {
+        return tokenize(text, false, false);
+    }
+
+    private static List<String> tokenize(String text, boolean html, boolean stem) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        StringBuilder token = new StringBuilder();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (html && c == '<' && i + 1 < length && isTagStart(text.charAt(i + 1))) {
+                int close = text.indexOf('>', i);
+                if (close > 0) {
+                    flush(token, terms, stem);
+                    i = close + 1;
+                    continue;
+                }
+            }
+            if (html && c == '&') {
+                int semicolon = text.indexOf(';', i);
+                if (semicolon > i && semicolon - i <= 8) {
+                    // Entities (&lt; &amp; &nbsp; ...) never contain word characters worth indexing
+                    flush(token, terms, stem);
+                    i = semicolon + 1;
+                    continue;
+                }
+            }
+
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                token.append(Character.toLowerCase(c));
+            } else {
+                flush(token, terms, stem);
+            }
+            i++;
+        }
+        flush(token, terms, stem);
+        return terms;
+    }
+
+    private static boolean isTagStart(char c) {
+        return Character.isLetter(c) || c == '/' || c == '!';
+    }
+
+    private static void flush(StringBuilder token, List<String> terms, boolean stem) {
+        if (!token.isEmpty()) {
+            terms.add(stem ? stem(token.toString()) : token.toString());
+            token.setLength(0);
+        }
+    }
+
+    /**
+     * Light English stemmer: plurals, -ing, -ed and -ly, with undoubling of a final
+     * consonant ("running" and "runs" both become "run"). Short words, numbers and
+     * identifiers containing underscores or digits are left alone.
+     */
+    static String stem(String word) {
+        if (word.length() <= 3 || !isPlainWord(word)) {
+            return word;
+        }
+
+        String stem = word;
+        if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (stem.endsWith("ing") && stem.length() > 5) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (stem.endsWith("ed") && stem.length() > 4) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        } else if (stem.endsWith("ly") && stem.length() > 5) {
+            stem = stem.substring(0, stem.length() - 2);
+        }
+
+        // "create", "created" and "creating" meet at "creat"
+        if (stem.endsWith("e") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+
+    private static boolean isPlainWord(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) < 'a' || word.charAt(i) > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n >= 3 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0
+                && "aeiou".indexOf(stem.charAt(n - 1)) < 0) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+}
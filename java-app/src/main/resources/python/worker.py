@@ -0,0 +1,179 @@
+# Pre-warmed exercise runner worker, started by PythonWorkerPool.
+#
+# Protocol: one JSON request per line on stdin, one JSON response per line on stdout.
+#   request : {"id", "code", "stdin", "timeout_ms", "cpu_seconds", "memory_mb", "max_output_bytes"}
+#   response: {"id", "status", "stdout", "stderr", "exit_code", "elapsed_ms"}
+# status is one of ok, error, timeout, cpu_limit, output_limit.
+#
+# Each run is executed in a fork of this already-initialized interpreter, so it skips
+# the interpreter cold start. The child gets CPU, address-space and file-size limits,
+# a scratch working directory, and its own stdin/stdout/stderr; nothing it does can
+# touch the worker's state or protocol stream. input() reads the request's stdin and
+# echoes it, and random is seeded, so two programs fed the same input can be compared
+# by their output alone.
+
+import atexit
+import builtins
+import io
+import json
+import os
+import select
+import shutil
+import signal
+import sys
+import tempfile
+import time
+import traceback
+
+# Modules the lessons use, imported once so forked runs find them loaded
+import collections, datetime, math, random, re, string  # noqa: E401,F401
+
+HAS_FORK = hasattr(os, "fork")
+if HAS_FORK:
+    import resource
+
+SCRATCH = tempfile.mkdtemp(prefix="pythonlearning-run-")
+atexit.register(shutil.rmtree, SCRATCH, True)
+protocol = sys.stdout
+
+
+def respond(message):
+    protocol.write(json.dumps(message) + "\n")
+    protocol.flush()
+
+
+def echo_input(prompt=""):
+    # Echo what was "typed" so the output reads like a terminal transcript
+    sys.stdout.write(str(prompt))
+    line = sys.stdin.readline()
+    if not line:
+        raise EOFError("EOF when reading a line")
+    sys.stdout.write(line if line.endswith("\n") else line + "\n")
+    return line.rstrip("\n")
+
+
+def child(request, out_fd, err_fd):
+    null_fd = os.open(os.devnull, os.O_RDONLY)
+    os.dup2(null_fd, 0)
+    os.close(null_fd)
+    os.dup2(out_fd, 1)
+    os.dup2(err_fd, 2)
+    os.setsid()
+    cpu = request["cpu_seconds"]
+    memory = request["memory_mb"] * 1024 * 1024
+    resource.setrlimit(resource.RLIMIT_CPU, (cpu, cpu + 1))
+    resource.setrlimit(resource.RLIMIT_AS, (memory, memory))
+    resource.setrlimit(resource.RLIMIT_FSIZE, (1024 * 1024, 1024 * 1024))
+    os.chdir(SCRATCH)
+
+    # __stdin__ too: it may hold protocol lines the worker already buffered
+    sys.stdin = sys.__stdin__ = io.StringIO(request.get("stdin") or "")
+    builtins.input = echo_input
+    random.seed(0)
+    sys.stdout = io.TextIOWrapper(os.fdopen(1, "wb", buffering=0), write_through=True)
+    sys.stderr = io.TextIOWrapper(os.fdopen(2, "wb", buffering=0), write_through=True)
+    status = 0
+    try:
+        exec(compile(request["code"], "<exercise>", "exec"), {"__name__": "__main__"})
+    except SystemExit as e:
+        status = e.code if isinstance(e.code, int) else (0 if e.code is None else 1)
+    except BaseException as e:
+        # Report from the learner's code down, without this file's frame
+        traceback.print_exception(type(e), e, e.__traceback__.tb_next)
+        status = 1
+    try:
+        sys.stdout.flush()
+        sys.stderr.flush()
+    finally:
+        os._exit(status)
+
+
+def run_forked(request):
+    out_read, out_write = os.pipe()
+    err_read, err_write = os.pipe()
+    started = time.monotonic()
+    pid = os.fork()
+    if pid == 0:
+        os.close(out_read)
+        os.close(err_read)
+        child(request, out_write, err_write)
+    os.close(out_write)
+    os.close(err_write)
+
+    deadline = started + request["timeout_ms"] / 1000.0
+    limit = request["max_output_bytes"]
+    buffers = {out_read: bytearray(), err_read: bytearray()}
+    open_fds = [out_read, err_read]
+    status = None
+    while open_fds:
+        remaining = deadline - time.monotonic()
+        if remaining <= 0:
+            status = "timeout"
+            break
+        ready, _, _ = select.select(open_fds, [], [], remaining)
+        for fd in ready:
+            chunk = os.read(fd, 65536)
+            if not chunk:
+                os.close(fd)
+                open_fds.remove(fd)
+                continue
+            buffers[fd] += chunk
+            if len(buffers[out_read]) + len(buffers[err_read]) > limit:
+                status = "output_limit"
+        if status:
+            break
+
+    if status:
+        try:
+            os.killpg(pid, signal.SIGKILL)
+        except ProcessLookupError:
+            pass
+    _, wait_status = os.waitpid(pid, 0)
+    for fd in open_fds:
+        os.close(fd)
+
+    exit_code = os.waitstatus_to_exitcode(wait_status)
+    if status is None:
+        if exit_code in (-signal.SIGXCPU, -signal.SIGKILL):
+            status = "cpu_limit"
+        else:
+            status = "ok" if exit_code == 0 else "error"
+    return finish(request, status, buffers[out_read], buffers[err_read], exit_code, started)
+
+
+def run_subprocess(request):
+    # Platforms without fork (Windows): a fresh interpreter per run, timeout only
+    import subprocess
+    started = time.monotonic()
+    try:
+        done = subprocess.run([sys.executable, "-I", "-c", request["code"]], input=(request.get("stdin") or "").encode(),
+                              capture_output=True, timeout=request["timeout_ms"] / 1000.0, cwd=SCRATCH)
+        status = "ok" if done.returncode == 0 else "error"
+        return finish(request, status, done.stdout, done.stderr, done.returncode, started)
+    except subprocess.TimeoutExpired as e:
+        return finish(request, "timeout", e.stdout or b"", e.stderr or b"", -1, started)
+
+
+def finish(request, status, stdout, stderr, exit_code, started):
+    limit = request["max_output_bytes"]
+    return {
+        "id": request["id"],
+        "status": status,
+        "stdout": bytes(stdout[:limit]).decode("utf-8", "replace"),
+        "stderr": bytes(stderr[:limit]).decode("utf-8", "replace"),
+        "exit_code": exit_code,
+        "elapsed_ms": int((time.monotonic() - started) * 1000),
+    }
+
+
+def main():
+    respond({"ready": True, "version": sys.version.split()[0], "isolated": HAS_FORK})
+    for line in sys.stdin:
+        if not line.strip():
+            continue
+        request = json.loads(line)
+        respond(run_forked(request) if HAS_FORK else run_subprocess(request))
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,125 @@
+package com.pythonlearning.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opening progress files written by earlier schema versions
+ */
+class ProgressDatabaseMigrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void upgradesLearnerScopedVersion2FileInPlace() throws SQLException {
+        Path dbFile = tempDir.resolve("v2.db");
+        writeVersion2File(dbFile);
+
+        try (ProgressDatabase database = new ProgressDatabase(dbFile, PragmaProfile.BALANCED)) {
+            ProgressStore alice = database.learner("alice");
+            ProgressStore bob = database.learner("bob");
+
+            // Both learners completed module 1 lesson 1; each keeps their own rows
+            assertEquals(1, alice.getLearnerId());
+            assertEquals(2, bob.getLearnerId());
+            assertTrue(alice.isLessonComplete(1, 1));
+            assertTrue(alice.isLessonComplete(1, 2));
+            assertTrue(bob.isLessonComplete(1, 1));
+            assertFalse(bob.isLessonComplete(1, 2));
+            assertEquals(85, alice.getQuizBestScore(1));
+            assertEquals(2, alice.getAllProgressData().get("totalLessonsCompleted"));
+            assertEquals(1, bob.getAllProgressData().get("totalLessonsCompleted"));
+
+            // Nothing was merged into the default learner
+            assertFalse(database.learner(ProgressDatabase.DEFAULT_LEARNER).isLessonComplete(1, 1));
+
+            SolutionOutputStore outputs = database.solutionOutputs();
+            assertNotNull(outputs);
+            outputs.put("print(1)", "", "3.12", new SolutionOutputStore.Output(true, "1\n"));
+            assertEquals(Optional.of(new SolutionOutputStore.Output(true, "1\n")), outputs.get("print(1)", "", "3.12"));
+        }
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            assertTrue(rs.next());
+            assertEquals(3, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void failsToOpenUnreadableFile() {
+        assertThrows(IllegalStateException.class,
+                () -> new ProgressDatabase(tempDir.resolve("missing").resolve("progress.db"), PragmaProfile.BALANCED));
+    }
+
+    /**
+     * A database as written by the version 2 (learner profile) schema, with two learners
+     */
+    private static void writeVersion2File(Path dbFile) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile);
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE learners (id INTEGER PRIMARY KEY, name TEXT NOT NULL UNIQUE, created_at TIMESTAMP)");
+            stmt.execute("""
+                CREATE TABLE lesson_progress (
+                    learner_id INTEGER NOT NULL REFERENCES learners (id),
+                    module_id INTEGER NOT NULL,
+                    lesson_id INTEGER NOT NULL,
+                    completed BOOLEAN DEFAULT 0,
+                    completed_at TIMESTAMP,
+                    attempts INTEGER DEFAULT 0,
+                    PRIMARY KEY (learner_id, module_id, lesson_id)
+                ) WITHOUT ROWID
+            """);
+            stmt.execute("""
+                CREATE TABLE quiz_progress (
+                    learner_id INTEGER NOT NULL REFERENCES learners (id),
+                    module_id INTEGER NOT NULL,
+                    completed BOOLEAN DEFAULT 0,
+                    score INTEGER DEFAULT 0,
+                    total_questions INTEGER,
+                    percentage INTEGER,
+                    attempts INTEGER DEFAULT 0,
+                    best_score INTEGER DEFAULT 0,
+                    last_attempt TIMESTAMP,
+                    PRIMARY KEY (learner_id, module_id)
+                ) WITHOUT ROWID
+            """);
+            stmt.execute("""
+                CREATE TABLE user_stats (
+                    learner_id INTEGER PRIMARY KEY REFERENCES learners (id),
+                    total_lessons_completed INTEGER DEFAULT 0,
+                    total_quizzes_completed INTEGER DEFAULT 0,
+                    started_at TIMESTAMP,
+                    last_activity TIMESTAMP
+                )
+            """);
+
+            stmt.execute("INSERT INTO learners (id, name) VALUES (1, 'alice'), (2, 'bob')");
+            stmt.execute("""
+                INSERT INTO lesson_progress (learner_id, module_id, lesson_id, completed, attempts)
+                VALUES (1, 1, 1, 1, 1), (1, 1, 2, 1, 1), (2, 1, 1, 1, 1)
+            """);
+            stmt.execute("""
+                INSERT INTO quiz_progress (learner_id, module_id, completed, score, total_questions, percentage, attempts, best_score)
+                VALUES (1, 1, 1, 17, 20, 85, 1, 85)
+            """);
+            stmt.execute("""
+                INSERT INTO user_stats (learner_id, total_lessons_completed, total_quizzes_completed)
+                VALUES (1, 2, 1), (2, 1, 0)
+            """);
+            stmt.execute("PRAGMA user_version = 2");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pythonlearning.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Invalidation of entries whose load is still running
+ */
+class ContentCacheTest {
+
+    @Test
+    void loadStartedBeforeInvalidateIsNotCachedOrShared() throws Exception {
+        ContentCache<String, String> cache = new ContentCache<>("Test", 1024);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("lesson", key -> {
+            loading.countDown();
+            await(release);
+            return new ContentCache.Weighted<>("old", 3);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // The file changed while the old version was still being parsed
+        cache.invalidate("lesson");
+        assertEquals("new", cache.get("lesson", key -> new ContentCache.Weighted<>("new", 3)));
+
+        release.countDown();
+        assertEquals("old", stale.get(5, TimeUnit.SECONDS));
+        assertEquals("new", cache.get("lesson", key -> fail("entry was not kept")));
+    }
+
+    @Test
+    void invalidateAllDiscardsRunningLoads() throws Exception {
+        ContentCache<String, String> cache = new ContentCache<>("Test", 1024);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("lesson", key -> {
+            loading.countDown();
+            await(release);
+            return new ContentCache.Weighted<>("old", 3);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        cache.invalidateAll();
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+        assertEquals("new", cache.get("lesson", key -> new ContentCache.Weighted<>("new", 3)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.pythonlearning.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Section scanning of lesson files, including broken ones
+ */
+class LessonIndexTest {
+    private static final Path LESSON = Path.of("..", "content", "modules", "module_01", "lesson_01.json");
+
+    @Test
+    void findsTopLevelSections() throws IOException {
+        byte[] json = Files.readAllBytes(LESSON);
+        Map<String, LessonIndex.Span> sections = LessonIndex.scanSections(json);
+
+        assertTrue(sections.containsKey("title"));
+        assertTrue(sections.containsKey("concept"));
+        LessonIndex.Entry entry = LessonIndex.createEntry(1, 1, json);
+        assertNotEquals("Untitled Lesson", entry.title());
+    }
+
+    @Test
+    void indexesEveryTruncationOfALessonWithoutFailing() throws IOException {
+        byte[] json = Files.readAllBytes(LESSON);
+        for (int length = 0; length < json.length; length++) {
+            byte[] truncated = Arrays.copyOf(json, length);
+            LessonIndex.Entry entry = LessonIndex.createEntry(1, 1, truncated);
+            for (LessonIndex.Span span : LessonIndex.scanSections(truncated).values()) {
+                assertTrue(span.offset() >= 0 && span.offset() + span.length() <= length, "span outside input");
+            }
+            assertNotNull(entry.title());
+        }
+    }
+
+    @Test
+    void stopsAtMalformedInput() {
+        for (String json : new String[] {"", "[]", "{", "{\"title\"", "{\"title\":", "{title: \"x\"}",
+                "{\"title\": \"unterminated", "{\"a\\", "{\"title\": \"A\", 42}"}) {
+            LessonIndex.Entry entry = LessonIndex.createEntry(1, 1, json.getBytes(StandardCharsets.UTF_8));
+            assertNotNull(entry.title(), json);
+        }
+        Map<String, LessonIndex.Span> sections = LessonIndex.scanSections(
+                "{\"title\": \"A\", 42}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, sections.size());
+    }
+}
@@ -0,0 +1,110 @@
+package com.pythonlearning.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plain-text and HTML forms of authored content, checked against the real course
+ */
+class SectionRendererTest {
+    private static final Path CONTENT_DIR = Path.of("..", "content");
+
+    @Test
+    void keepsPlainTextExactlyAsWritten() {
+        for (String text : List.of("__init__.py", "if __name__ == \"__main__\":", "0*2=0, 1*2=2", "x**2",
+                "glob('*.txt')", "C:\\Users\\name", ">= 18", "******", "*** ***", "* * * * * *",
+                "<class 'int'>", "age <13")) {
+            assertEquals(text, SectionRenderer.toText(text));
+            assertEquals(text, SectionRenderer.render(text).text());
+        }
+    }
+
+    @Test
+    void keepsLineBreaksAndIndentationOfPlainText() {
+        String question = "What will this code print?\n\nfor i in range(2):\n    print(i)";
+        assertEquals(question, SectionRenderer.toText(question));
+        assertTrue(SectionRenderer.render(question).html().contains("class=\"plain\""));
+    }
+
+    @Test
+    void escapesPlainTextInHtml() {
+        String html = SectionRenderer.render("<class 'int'> & x < y").html();
+        assertTrue(html.contains("&lt;class 'int'&gt; &amp; x &lt; y"), html);
+    }
+
+    @Test
+    void readsHtmlFragments() {
+        assertEquals("What does __init__ do?", SectionRenderer.toText("What does <code>__init__</code> do?"));
+        assertEquals("**\n**\n**", SectionRenderer.toText("**<br>**<br>**"));
+        assertEquals("a\u00a0\u00a0b", SectionRenderer.toText("a&nbsp;&nbsp;b"));
+        assertFalse(SectionRenderer.render("<p onclick=\"x()\">Hi</p><script>alert(1)</script>").html().contains("script"));
+    }
+
+    @Test
+    void usesMarkdownOnlyWhenAskedTo() {
+        assertEquals("**bold**", SectionRenderer.toText("**bold**"));
+        assertEquals("bold", SectionRenderer.toText("**bold**", SectionRenderer.Format.MARKDOWN));
+    }
+
+    @Test
+    void rendersEveryQuizTextOfTheCourse() throws IOException {
+        List<String> texts = new ArrayList<>();
+        for (Path file : contentFiles()) {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            addQuestions(json.get("questions"), texts);
+            JsonElement checkpoint = json.get("checkpoint_quiz");
+            addQuestions(checkpoint != null && checkpoint.isJsonObject() ? checkpoint.getAsJsonObject().get("questions") : checkpoint, texts);
+        }
+        assertTrue(texts.size() > 1000, "quiz texts found: " + texts.size());
+
+        for (String authored : texts) {
+            String text = SectionRenderer.toText(authored);
+            assertFalse(text.isBlank(), "blank text for: " + authored);
+            if (SectionRenderer.isPlainText(authored)) {
+                assertEquals(authored.strip(), text);
+            }
+        }
+    }
+
+    private static List<Path> contentFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(CONTENT_DIR)) {
+            return files.filter(file -> file.toString().endsWith(".json")).sorted().toList();
+        }
+    }
+
+    private static void addQuestions(JsonElement questions, List<String> texts) {
+        if (questions == null || !questions.isJsonArray()) {
+            return;
+        }
+        for (JsonElement element : questions.getAsJsonArray()) {
+            JsonObject question = element.getAsJsonObject();
+            addString(question.get("question"), texts);
+            addString(question.get("explanation"), texts);
+            JsonElement options = question.get("options");
+            if (options != null && options.isJsonArray()) {
+                for (JsonElement option : (JsonArray) options) {
+                    addString(option, texts);
+                }
+            }
+        }
+    }
+
+    private static void addString(JsonElement element, List<String> texts) {
+        if (element != null && element.isJsonPrimitive() && !element.getAsString().isBlank()) {
+            texts.add(element.getAsString());
+        }
+    }
+}